@@ -0,0 +1,110 @@
+package com.rubikssolver.rubikscubevisualizer.benchmark;
+
+import com.rubikssolver.rubikscubevisualizer.AlgorithmFactory;
+import com.rubikssolver.rubikscubevisualizer.Cube;
+import com.rubikssolver.rubikscubevisualizer.MoveSequence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-operation costs of the cube engine: single moves, face rotations, state snapshots, algorithm selection
+ * and whole sequences.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CubeBenchmark {
+
+    @State(Scope.Thread)
+    public static class CubeState {
+        Cube cube;
+        List<String> algorithmNames;
+        int nextAlgorithm;
+
+        @Setup
+        public void setUp() {
+            cube = new Cube();
+            algorithmNames = AlgorithmFactory.getAllAlgorithmNames();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class MoveState {
+        @Param({"U", "U'", "R", "R'", "F", "F'", "D", "D'", "L", "L'", "B", "B'"})
+        public String move;
+
+        int moveCode;
+        int face;
+        boolean clockwise;
+
+        @Setup
+        public void setUp() {
+            moveCode = MoveSequence.parseMove(move);
+            face = moveCode / 3;
+            clockwise = !move.endsWith("'");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class SequenceState {
+        @Param({"20", "200", "2000"})
+        public int sequenceLength;
+
+        MoveSequence sequence;
+
+        @Setup
+        public void setUp() {
+            sequence = Scrambles.random(sequenceLength, 42);
+        }
+    }
+
+    @Benchmark
+    public Cube applyMoveCode(CubeState state, MoveState move) {
+        state.cube.applyMove(move.moveCode);
+        return state.cube;
+    }
+
+    @Benchmark
+    public Cube applyMoveNotation(CubeState state, MoveState move) {
+        state.cube.applyMove(move.move);
+        return state.cube;
+    }
+
+    @Benchmark
+    public Cube rotateFace(CubeState state, MoveState move) {
+        state.cube.rotateFace(move.face, move.clockwise);
+        return state.cube;
+    }
+
+    @Benchmark
+    public String[][][] getStateCopy(CubeState state) {
+        return state.cube.getStateCopy();
+    }
+
+    @Benchmark
+    public Cube selectAlgorithm(CubeState state) {
+        state.cube.selectAlgorithm(state.algorithmNames.get(state.nextAlgorithm));
+        state.nextAlgorithm = (state.nextAlgorithm + 1) % state.algorithmNames.size();
+        return state.cube;
+    }
+
+    @Benchmark
+    public Cube applySequence(CubeState state, SequenceState sequence) {
+        state.cube.applySequence(sequence.sequence);
+        return state.cube;
+    }
+}
@@ -0,0 +1,75 @@
+package com.rubikssolver.rubikscubevisualizer.benchmark;
+
+import com.rubikssolver.rubikscubevisualizer.AlgorithmFactory;
+import com.rubikssolver.rubikscubevisualizer.Move;
+import com.rubikssolver.rubikscubevisualizer.MoveGraph;
+import com.rubikssolver.rubikscubevisualizer.ui.VisualizerController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Similarity graph costs: building the graph over synthetic libraries of growing size, and the controller's
+ * similar-algorithm lookup over the built-in library.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGraphBenchmark {
+
+    @State(Scope.Thread)
+    public static class LibraryState {
+        @Param({"30", "300", "1000"})
+        public int librarySize;
+
+        List<Move> library;
+
+        @Setup
+        public void setUp() {
+            library = new ArrayList<>(librarySize);
+            for (int i = 0; i < librarySize; i++) {
+                String sequence = Scrambles.random(8 + i % 12, i).toString();
+                library.add(new Move("Synthetic " + i, sequence, i % 2 == 0 ? "OLL" : "PLL"));
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ControllerState {
+        VisualizerController controller;
+        List<String> algorithmNames;
+        int nextAlgorithm;
+
+        @Setup
+        public void setUp() {
+            controller = new VisualizerController();
+            algorithmNames = AlgorithmFactory.getAllAlgorithmNames();
+        }
+    }
+
+    @Benchmark
+    public MoveGraph buildGraph(LibraryState state) {
+        return new MoveGraph(state.library);
+    }
+
+    @Benchmark
+    public List<String> getSimilarAlgorithms(ControllerState state) {
+        String name = state.algorithmNames.get(state.nextAlgorithm);
+        state.nextAlgorithm = (state.nextAlgorithm + 1) % state.algorithmNames.size();
+        return state.controller.getSimilarAlgorithms(name, false);
+    }
+}
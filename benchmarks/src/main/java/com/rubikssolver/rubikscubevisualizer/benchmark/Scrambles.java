@@ -0,0 +1,22 @@
+package com.rubikssolver.rubikscubevisualizer.benchmark;
+
+import com.rubikssolver.rubikscubevisualizer.MoveSequence;
+
+import java.util.Random;
+
+/**
+ * Deterministic random face-turn sequences used as benchmark inputs.
+ */
+final class Scrambles {
+    private Scrambles() {
+    }
+
+    static MoveSequence random(int length, long seed) {
+        Random random = new Random(seed);
+        byte[] codes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            codes[i] = (byte) random.nextInt(18);
+        }
+        return MoveSequence.ofCodes(codes);
+    }
+}
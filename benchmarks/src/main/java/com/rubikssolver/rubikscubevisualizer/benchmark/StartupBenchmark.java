@@ -0,0 +1,35 @@
+package com.rubikssolver.rubikscubevisualizer.benchmark;
+
+import com.rubikssolver.rubikscubevisualizer.Cube;
+import com.rubikssolver.rubikscubevisualizer.MoveGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costs paid when the visualizer starts: building a {@link Cube}, which only resets its facelets now that
+ * algorithm pre-states come from the shared {@code PreStateCache}, and building the default {@link MoveGraph}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StartupBenchmark {
+
+    @Benchmark
+    public Cube newCube() {
+        return new Cube();
+    }
+
+    @Benchmark
+    public MoveGraph newMoveGraph() {
+        return new MoveGraph();
+    }
+}
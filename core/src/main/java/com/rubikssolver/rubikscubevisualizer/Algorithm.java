@@ -0,0 +1,70 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.util.List;
+
+public class Algorithm {
+    private final String name;
+    private final MoveSequence sequence;
+    private final List<String> moves;
+    private final FaceletPermutation permutation;
+    private final FaceletPermutation inversePermutation;
+
+    public Algorithm(String name, List<String> moves) {
+        this(name, MoveSequence.of(moves));
+    }
+
+    public Algorithm(String name, MoveSequence sequence) {
+        this(name, sequence, FaceletPermutation.of(sequence));
+    }
+
+    /**
+     * Creates an algorithm whose permutation was already compiled, e.g. by {@link AlgorithmLibrary}.
+     */
+    Algorithm(String name, MoveSequence sequence, FaceletPermutation permutation) {
+        this.name = name;
+        this.sequence = sequence;
+        this.moves = sequence.toNotation();
+        this.permutation = permutation;
+        this.inversePermutation = permutation.inverse();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getMoves() {
+        return moves;
+    }
+
+    /**
+     * Gets the moves compiled to move codes, parsed once when the algorithm was defined.
+     *
+     * @return The compiled move sequence.
+     */
+    public MoveSequence getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the single facelet permutation the whole algorithm performs.
+     *
+     * @return The compiled permutation.
+     */
+    public FaceletPermutation getPermutation() {
+        return permutation;
+    }
+
+    /**
+     * Gets the permutation that undoes the whole algorithm.
+     *
+     * @return The compiled inverse permutation.
+     */
+    public FaceletPermutation getInversePermutation() {
+        return inversePermutation;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,139 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * The algorithms the application knows about, by name and by category.
+ * <p>
+ * The built-in OLL and PLL sets are bundled as a library file; more can be added by listing files or directories
+ * of {@code .txt} and {@code .json} libraries in the {@code rubikscube.algorithms} system property, separated like
+ * a class path. Every library is compiled once into a cached binary form (see {@link AlgorithmLibrary}), with
+ * each algorithm run through {@link MoveSimplifier} on the way, and an
+ * {@link Algorithm} is only created when it is first asked for. When two libraries use the same name the first
+ * one loaded wins.
+ */
+public class AlgorithmFactory {
+    static final String BUILT_IN_LIBRARY = "/com/rubikssolver/rubikscubevisualizer/algorithms/default.txt";
+
+    private static final List<AlgorithmLibrary> libraries = new ArrayList<>();
+    private static final Map<String, Algorithm> algorithms = new ConcurrentHashMap<>();
+    private static final Map<String, Location> locations = new HashMap<>();
+    private static final List<String> names = new ArrayList<>();
+    private static final TreeNode root = new TreeNode("Algorithms");
+
+    private record Location(AlgorithmLibrary library, int index) {
+    }
+
+    static {
+        try {
+            libraries.add(AlgorithmLibrary.loadResource(BUILT_IN_LIBRARY));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load the built-in algorithms", e);
+        }
+        for (Path file : externalLibraries()) {
+            try {
+                libraries.add(AlgorithmLibrary.load(file));
+            } catch (IOException | IllegalArgumentException e) {
+                logger().log(System.Logger.Level.WARNING, "Skipping algorithm library " + file, e);
+            }
+        }
+
+        Map<String, TreeNode> categories = new LinkedHashMap<>();
+        for (AlgorithmLibrary library : libraries) {
+            for (int i = 0; i < library.size(); i++) {
+                String name = library.name(i);
+                if (locations.putIfAbsent(name, new Location(library, i)) != null) {
+                    logger().log(System.Logger.Level.WARNING, "Ignoring second algorithm named {0} in {1}",
+                            name, library.getFileName());
+                    continue;
+                }
+                names.add(name);
+                categories.computeIfAbsent(library.category(i), TreeNode::new).addChild(new TreeNode(name));
+            }
+        }
+        categories.values().forEach(root::addChild);
+    }
+
+    /**
+     * Lists the library files named by the {@code rubikscube.algorithms} property, expanding directories into
+     * their {@code .txt} and {@code .json} files in name order.
+     */
+    private static List<Path> externalLibraries() {
+        String configured = System.getProperty("rubikscube.algorithms");
+        if (configured == null || configured.isBlank()) {
+            return List.of();
+        }
+        List<Path> files = new ArrayList<>();
+        for (String entry : configured.split(File.pathSeparator)) {
+            Path path = Path.of(entry.strip());
+            if (!Files.isDirectory(path)) {
+                files.add(path);
+                continue;
+            }
+            try (Stream<Path> children = Files.list(path)) {
+                children.filter(child -> child.toString().endsWith(".txt") || child.toString().endsWith(".json"))
+                        .sorted()
+                        .forEach(files::add);
+            } catch (IOException e) {
+                logger().log(System.Logger.Level.WARNING, "Could not list algorithm directory " + path, e);
+            }
+        }
+        return files;
+    }
+
+    public static Algorithm getAlgorithm(String name) {
+        Algorithm algorithm = algorithms.get(name);
+        if (algorithm == null) {
+            Location location = locations.get(name);
+            if (location == null) {
+                return null;
+            }
+            algorithm = algorithms.computeIfAbsent(name, n -> location.library().algorithm(location.index()));
+        }
+        return algorithm;
+    }
+
+    /**
+     * Gets the category an algorithm is filed under.
+     *
+     * @return The category, or null for an unknown name.
+     */
+    public static String getCategory(String name) {
+        Location location = locations.get(name);
+        return location == null ? null : location.library().category(location.index());
+    }
+
+    /**
+     * Lists every algorithm name, in the order the libraries define them.
+     */
+    public static List<String> getAllAlgorithmNames() {
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Lists the libraries that were loaded, built-in first, e.g. to report how much simplifying saved.
+     */
+    public static List<AlgorithmLibrary> getLibraries() {
+        return Collections.unmodifiableList(libraries);
+    }
+
+    public static TreeNode getAlgorithmTree() {
+        return root;
+    }
+
+    private static System.Logger logger() {
+        return System.getLogger(AlgorithmFactory.class.getName());
+    }
+}
@@ -0,0 +1,351 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.zip.CRC32C;
+
+/**
+ * A set of algorithms loaded from a library file (see {@link AlgorithmLibraryReader} for the formats), kept in
+ * compiled form: names, categories, move codes and the facelet permutation of every algorithm.
+ * <p>
+ * The first time a file is loaded it is parsed and compiled, and the result is written next to the solver tables
+ * as a {@link TableFile}. Later loads map that file instead without reading the source, as long as its size and
+ * modification time are the ones it was compiled from; when they change, a CRC32C of the source decides whether it
+ * is compiled again. Startup costs the same however many algorithms the library holds. Nothing is
+ * parsed or composed when an algorithm is looked up: {@link #algorithm(int)} wraps the stored moves and
+ * permutation.
+ */
+public final class AlgorithmLibrary {
+    static final int LIBRARY_VERSION = 3;
+
+    private static final int META = 0;
+    private static final int STRINGS = 1;
+    private static final int STRING_OFFSETS = 2;
+    private static final int CATEGORY_OF = 3;
+    private static final int MOVE_OFFSETS = 4;
+    private static final int MOVES = 5;
+    private static final int PERMUTATIONS = 6;
+    private static final int SECTION_COUNT = 7;
+
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED;
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED;
+
+    private final String fileName;
+    private final int size;
+    private final MoveCount originalMoveCount;
+    private final MoveCount moveCount;
+    private final List<String> categories;
+    private final MemorySegment strings;
+    private final MemorySegment stringOffsets;
+    private final MemorySegment categoryOf;
+    private final MemorySegment moveOffsets;
+    private final MemorySegment moves;
+    private final MemorySegment permutations;
+
+    private AlgorithmLibrary(String fileName, List<MemorySegment> sections) {
+        this.fileName = fileName;
+        MemorySegment meta = sections.get(META);
+        this.size = meta.get(INT, 8);
+        this.originalMoveCount = new MoveCount(meta.get(INT, 16), meta.get(INT, 20), meta.get(INT, 24));
+        this.moveCount = new MoveCount(meta.get(INT, 28), meta.get(INT, 32), meta.get(INT, 36));
+        this.strings = sections.get(STRINGS);
+        this.stringOffsets = sections.get(STRING_OFFSETS);
+        this.categoryOf = sections.get(CATEGORY_OF);
+        this.moveOffsets = sections.get(MOVE_OFFSETS);
+        this.moves = sections.get(MOVES);
+        this.permutations = sections.get(PERMUTATIONS);
+
+        int categoryCount = meta.get(INT, 12);
+        List<String> names = new ArrayList<>(categoryCount);
+        for (int c = 0; c < categoryCount; c++) {
+            names.add(string(size + c));
+        }
+        this.categories = List.copyOf(names);
+    }
+
+    /**
+     * Loads a library file, from its compiled cache when that is up to date.
+     *
+     * @throws IOException              if the file cannot be read.
+     * @throws IllegalArgumentException if it is malformed or holds an invalid move.
+     */
+    public static AlgorithmLibrary load(Path file) throws IOException {
+        Path absolute = file.toAbsolutePath();
+        BasicFileAttributes attributes = Files.readAttributes(absolute, BasicFileAttributes.class);
+        return load(file.getFileName().toString(), absolute.toString(), attributes.size(),
+                attributes.lastModifiedTime().toMillis(), () -> Files.readAllBytes(absolute));
+    }
+
+    /**
+     * Loads a library bundled on the class path.
+     *
+     * @param resource The absolute resource name.
+     * @see #load(Path)
+     */
+    public static AlgorithmLibrary loadResource(String resource) throws IOException {
+        URL url = AlgorithmLibrary.class.getResource(resource);
+        if (url == null) {
+            throw new FileNotFoundException("No algorithm library resource " + resource);
+        }
+        URLConnection connection = url.openConnection();
+        try (InputStream in = connection.getInputStream()) {
+            return load(resource.substring(resource.lastIndexOf('/') + 1), "resource:" + resource,
+                    connection.getContentLengthLong(), connection.getLastModified(), in::readAllBytes);
+        }
+    }
+
+    /**
+     * Maps a library's cache, reading the source only when its size or time has changed since it was compiled,
+     * and compiling it only when its contents have.
+     *
+     * @param origin         Where the source comes from, which names the cache.
+     * @param sourceSize     The size of the source, or -1 if unknown.
+     * @param sourceModified When the source was last changed, in milliseconds, or 0 if unknown.
+     * @param source         Reads the source, only when the cache cannot be trusted on size and time alone.
+     */
+    private static AlgorithmLibrary load(String fileName, String origin, long sourceSize, long sourceModified,
+                                         Source source) throws IOException {
+        String stem = fileName.contains(".") ? fileName.substring(0, fileName.lastIndexOf('.')) : fileName;
+        Path cache = TableFile.directory()
+                .resolve("algorithms-" + stem + "-" + Integer.toHexString(origin.hashCode()) + ".lib");
+        List<MemorySegment> cached = null;
+        if (Files.exists(cache)) {
+            try {
+                cached = TableFile.map(cache, LIBRARY_VERSION, SECTION_COUNT);
+            } catch (IOException e) {
+                logger().log(System.Logger.Level.INFO, "Recompiling unreadable algorithm cache " + cache, e);
+            }
+            if (cached != null && sourceSize >= 0 && sourceModified != 0
+                    && cached.get(META).get(LONG, 40) == sourceSize
+                    && cached.get(META).get(LONG, 48) == sourceModified) {
+                return new AlgorithmLibrary(fileName, cached);
+            }
+        }
+
+        byte[] bytes = source.read();
+        CRC32C crc = new CRC32C();
+        crc.update(bytes);
+        long checksum = crc.getValue();
+
+        List<MemorySegment> sections;
+        if (cached != null && cached.get(META).get(LONG, 0) == checksum) {
+            // Only the size or time changed, as when the file was copied or touched: keep the compiled sections
+            // and save them with the new size and time.
+            sections = new ArrayList<>(cached);
+            sections.set(META, MemorySegment.ofArray(cached.get(META).toArray(ValueLayout.JAVA_BYTE)));
+        } else {
+            if (cached != null) {
+                logger().log(System.Logger.Level.INFO, "Recompiling algorithm library {0}", fileName);
+            }
+            sections = compile(fileName, bytes, checksum);
+        }
+        sections.get(META).set(LONG, 40, sourceSize);
+        sections.get(META).set(LONG, 48, sourceModified);
+        try {
+            TableFile.write(cache, LIBRARY_VERSION, sections);
+        } catch (IOException e) {
+            logger().log(System.Logger.Level.WARNING, "Could not save algorithm cache " + cache, e);
+        }
+        return new AlgorithmLibrary(fileName, sections);
+    }
+
+    /**
+     * Parses and compiles a library into its sections. Every algorithm is stored {@linkplain MoveSimplifier
+     * simplified}; the move counts before and after are kept for {@link #getOriginalMoveCount()}.
+     */
+    private static List<MemorySegment> compile(String fileName, byte[] source, long checksum) {
+        ByteArrayOutputStream names = new ByteArrayOutputStream();
+        ByteArrayOutputStream codes = new ByteArrayOutputStream();
+        ByteArrayOutputStream compiled = new ByteArrayOutputStream();
+        IntList nameOffsets = new IntList();
+        IntList categories = new IntList();
+        IntList codeOffsets = new IntList();
+        Map<String, Integer> categoryIds = new LinkedHashMap<>();
+        Set<String> seen = new HashSet<>();
+        byte[] permutation = new byte[Cube.FACELET_COUNT];
+        MoveCount[] counts = {MoveCount.ZERO, MoveCount.ZERO};
+        int[] simplifiedCount = new int[1];
+
+        nameOffsets.add(0);
+        codeOffsets.add(0);
+        try (InputStreamReader reader = new InputStreamReader(new ByteArrayInputStream(source), StandardCharsets.UTF_8)) {
+            AlgorithmLibraryReader.read(fileName, reader, entry -> {
+                if (!seen.add(entry.name())) {
+                    throw new IllegalArgumentException("duplicate algorithm " + entry.name());
+                }
+                MoveSequence sequence;
+                try {
+                    sequence = MoveSequence.parse(entry.moves());
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("algorithm " + entry.name() + ": " + e.getMessage(), e);
+                }
+                MoveSequence simplified = MoveSimplifier.simplify(sequence);
+                counts[0] = counts[0].plus(MoveCount.of(sequence));
+                counts[1] = counts[1].plus(MoveCount.of(simplified));
+                if (simplified != sequence) {
+                    simplifiedCount[0]++;
+                    sequence = simplified;
+                }
+
+                names.writeBytes(entry.name().getBytes(StandardCharsets.UTF_8));
+                nameOffsets.add(names.size());
+                categories.add(categoryIds.computeIfAbsent(entry.category(), c -> categoryIds.size()));
+                codes.writeBytes(sequence.toCodes());
+                codeOffsets.add(codes.size());
+                FaceletPermutation compiledPermutation = FaceletPermutation.of(sequence);
+                for (int i = 0; i < Cube.FACELET_COUNT; i++) {
+                    permutation[i] = (byte) compiledPermutation.sourceOf(i);
+                }
+                compiled.writeBytes(permutation);
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(fileName + ": " + e.getMessage(), e);
+        }
+        for (String category : categoryIds.keySet()) {
+            names.writeBytes(category.getBytes(StandardCharsets.UTF_8));
+            nameOffsets.add(names.size());
+        }
+
+        MemorySegment meta = MemorySegment.ofArray(new byte[56]);
+        meta.set(LONG, 0, checksum);
+        meta.set(INT, 8, categories.size);
+        meta.set(INT, 12, categoryIds.size());
+        int offset = 16;
+        for (MoveCount count : counts) {
+            meta.set(INT, offset, count.htm());
+            meta.set(INT, offset + 4, count.qtm());
+            meta.set(INT, offset + 8, count.stm());
+            offset += 12;
+        }
+        logger().log(System.Logger.Level.INFO, "Compiled {0}: simplified {1} of {2} algorithms, {3} to {4}",
+                fileName, simplifiedCount[0], categories.size, counts[0], counts[1]);
+
+        List<MemorySegment> sections = new ArrayList<>(SECTION_COUNT);
+        sections.add(meta);
+        sections.add(MemorySegment.ofArray(names.toByteArray()));
+        sections.add(nameOffsets.toSegment());
+        sections.add(categories.toSegment());
+        sections.add(codeOffsets.toSegment());
+        sections.add(MemorySegment.ofArray(codes.toByteArray()));
+        sections.add(MemorySegment.ofArray(compiled.toByteArray()));
+        return sections;
+    }
+
+    /**
+     * Gets the name of the file the library was loaded from, without its directory.
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the total length of the algorithms as written in the file, before they were simplified.
+     */
+    public MoveCount getOriginalMoveCount() {
+        return originalMoveCount;
+    }
+
+    /**
+     * Gets the total length of the algorithms as stored.
+     */
+    public MoveCount getMoveCount() {
+        return moveCount;
+    }
+
+    public String name(int index) {
+        return string(checkIndex(index));
+    }
+
+    public String category(int index) {
+        return categories.get(categoryOf.getAtIndex(INT, checkIndex(index)));
+    }
+
+    public MoveSequence sequence(int index) {
+        long from = moveOffsets.getAtIndex(INT, checkIndex(index));
+        long to = moveOffsets.getAtIndex(INT, index + 1);
+        return MoveSequence.ofCodes(moves.asSlice(from, to - from).toArray(ValueLayout.JAVA_BYTE));
+    }
+
+    public FaceletPermutation permutation(int index) {
+        long offset = (long) checkIndex(index) * Cube.FACELET_COUNT;
+        return FaceletPermutation.ofSource(permutations.asSlice(offset, Cube.FACELET_COUNT).toArray(ValueLayout.JAVA_BYTE));
+    }
+
+    /**
+     * Builds an algorithm from its stored moves and permutation, without composing any moves.
+     */
+    public Algorithm algorithm(int index) {
+        return new Algorithm(name(index), sequence(index), permutation(index));
+    }
+
+    private String string(int index) {
+        int from = stringOffsets.getAtIndex(INT, index);
+        int to = stringOffsets.getAtIndex(INT, index + 1);
+        return new String(strings.asSlice(from, to - from).toArray(ValueLayout.JAVA_BYTE), StandardCharsets.UTF_8);
+    }
+
+    private int checkIndex(int index) {
+        return Objects.checkIndex(index, size);
+    }
+
+    /**
+     * Reads a library's source.
+     */
+    private interface Source {
+        byte[] read() throws IOException;
+    }
+
+    /**
+     * A growable int array that becomes a section.
+     */
+    private static final class IntList {
+        int[] values = new int[64];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        MemorySegment toSegment() {
+            MemorySegment segment = MemorySegment.ofArray(new byte[size * Integer.BYTES]);
+            for (int i = 0; i < size; i++) {
+                segment.setAtIndex(INT, i, values[i]);
+            }
+            return segment;
+        }
+    }
+
+    private static System.Logger logger() {
+        return System.getLogger(AlgorithmLibrary.class.getName());
+    }
+}
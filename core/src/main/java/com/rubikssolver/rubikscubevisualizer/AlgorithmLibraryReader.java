@@ -0,0 +1,235 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streams algorithm entries out of a library file, one at a time, so a large library is never held in memory as
+ * text or as a parsed document.
+ * <p>
+ * Two formats are understood. The text format has a {@code [Category]} line before each category's entries and
+ * one {@code name: moves} line per algorithm; blank lines and lines starting with {@code #} are ignored. The JSON
+ * format is an array of objects with {@code "category"}, {@code "name"} and {@code "moves"} string members, where
+ * {@code "moves"} may also be an array of move tokens; other members are ignored.
+ */
+final class AlgorithmLibraryReader {
+    /**
+     * One algorithm as written in the file; the moves are not parsed yet.
+     */
+    record Entry(String category, String name, String moves) {
+    }
+
+    private AlgorithmLibraryReader() {
+    }
+
+    /**
+     * Reads a library, picking the format from the file name: JSON for {@code .json}, text otherwise.
+     *
+     * @throws IOException              if reading fails.
+     * @throws IllegalArgumentException if the file is malformed, naming the line it went wrong on.
+     */
+    static void read(String fileName, Reader reader, Consumer<Entry> entries) throws IOException {
+        if (fileName.endsWith(".json")) {
+            new JsonReader(reader).readEntries(entries);
+        } else {
+            readText(new BufferedReader(reader), entries);
+        }
+    }
+
+    private static void readText(BufferedReader reader, Consumer<Entry> entries) throws IOException {
+        String category = null;
+        int lineNumber = 0;
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            lineNumber++;
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            if (trimmed.startsWith("[") && trimmed.endsWith("]")) {
+                category = trimmed.substring(1, trimmed.length() - 1).strip();
+                continue;
+            }
+
+            int colon = trimmed.indexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected \"name: moves\"");
+            }
+            if (category == null) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": algorithm before any [Category]");
+            }
+            entries.accept(new Entry(category, trimmed.substring(0, colon).strip(),
+                    trimmed.substring(colon + 1).strip()));
+        }
+    }
+
+    /**
+     * A minimal pull parser for the JSON subset above. It reads a character at a time and keeps only the entry
+     * being read.
+     */
+    private static final class JsonReader {
+        private final Reader reader;
+        private int next;
+        private int line = 1;
+
+        JsonReader(Reader reader) throws IOException {
+            this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+            this.next = this.reader.read();
+        }
+
+        void readEntries(Consumer<Entry> entries) throws IOException {
+            expect('[');
+            if (peek() == ']') {
+                read();
+                return;
+            }
+            do {
+                entries.accept(readEntry());
+            } while (readSeparator(']'));
+        }
+
+        private Entry readEntry() throws IOException {
+            int startLine = line;
+            String category = null;
+            String name = null;
+            String moves = null;
+            expect('{');
+            if (peek() == '}') {
+                read();
+            } else {
+                do {
+                    String key = readString();
+                    expect(':');
+                    switch (key) {
+                        case "category" -> category = readString();
+                        case "name" -> name = readString();
+                        case "moves" -> moves = peek() == '[' ? String.join(" ", readStringArray()) : readString();
+                        default -> skipValue();
+                    }
+                } while (readSeparator('}'));
+            }
+            if (category == null || name == null || moves == null) {
+                throw error(startLine, "entry needs \"category\", \"name\" and \"moves\"");
+            }
+            return new Entry(category, name, moves);
+        }
+
+        private List<String> readStringArray() throws IOException {
+            List<String> values = new ArrayList<>();
+            expect('[');
+            if (peek() == ']') {
+                read();
+                return values;
+            }
+            do {
+                values.add(readString());
+            } while (readSeparator(']'));
+            return values;
+        }
+
+        private String readString() throws IOException {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            for (int c = read(); c != '"'; c = read()) {
+                if (c == -1 || c == '\n') {
+                    throw error(line, "unterminated string");
+                }
+                if (c == '\\') {
+                    c = read();
+                    switch (c) {
+                        case 'n' -> c = '\n';
+                        case 't' -> c = '\t';
+                        case 'r' -> c = '\r';
+                        case 'b' -> c = '\b';
+                        case 'f' -> c = '\f';
+                        case 'u' -> c = Integer.parseInt(new String(new char[]{
+                                (char) read(), (char) read(), (char) read(), (char) read()}), 16);
+                        case '"', '\\', '/' -> {
+                        }
+                        default -> throw error(line, "invalid escape");
+                    }
+                }
+                value.append((char) c);
+            }
+            return value.toString();
+        }
+
+        /**
+         * Skips a value of any kind: string, number, literal, object or array.
+         */
+        private void skipValue() throws IOException {
+            int c = peek();
+            if (c == '"') {
+                readString();
+            } else if (c == '{' || c == '[') {
+                int close = c == '{' ? '}' : ']';
+                read();
+                if (peek() == close) {
+                    read();
+                    return;
+                }
+                do {
+                    if (close == '}') {
+                        readString();
+                        expect(':');
+                    }
+                    skipValue();
+                } while (readSeparator(close));
+            } else {
+                while (next != -1 && next != ',' && next != '}' && next != ']' && !Character.isWhitespace(next)) {
+                    read();
+                }
+            }
+        }
+
+        /**
+         * Reads a comma or the closing character of the current object or array.
+         *
+         * @return true after a comma, false after the closing character.
+         */
+        private boolean readSeparator(int close) throws IOException {
+            int c = peek();
+            read();
+            if (c == ',') {
+                return true;
+            }
+            if (c == close) {
+                return false;
+            }
+            throw error(line, "expected ',' or '" + (char) close + "'");
+        }
+
+        private void expect(int expected) throws IOException {
+            if (peek() != expected) {
+                throw error(line, "expected '" + (char) expected + "'");
+            }
+            read();
+        }
+
+        /**
+         * Skips whitespace and returns the next character without consuming it.
+         */
+        private int peek() throws IOException {
+            while (next != -1 && Character.isWhitespace(next)) {
+                read();
+            }
+            return next;
+        }
+
+        private int read() throws IOException {
+            int c = next;
+            if (c == '\n') {
+                line++;
+            }
+            next = reader.read();
+            return c;
+        }
+
+        private static IllegalArgumentException error(int line, String message) {
+            return new IllegalArgumentException("Line " + line + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless solving of scramble files, one scramble per line, without starting the UI.
+ * <p>
+ * Lines are read as a stream and parsed into {@link MoveSequence}s, or, for a line of 54 color letters
+ * ({@code YOGWRB}, one per facelet in the layout of {@link Cube}), read as a state and checked by
+ * {@link CubeValidator}. They are then solved by {@link TwoPhaseSolver}s on a fixed pool. At most {@code window}
+ * scrambles are in flight: once that many are pending, reading waits for the oldest to be written, so results come
+ * out in input order and memory stays flat however long the file is.
+ * Each output line is the solution, or {@code ERROR} and a reason for lines that do not parse or solve.
+ * <p>
+ * Run it with {@code CommandLineApp batch <input> <output> [options]}, {@code MainApp --batch ...} in the UI
+ * module, or through {@link #main(String[])}; either file may be {@code -} for standard input or output. The
+ * statistics are printed to standard error at the end.
+ */
+public final class BatchSolver {
+    private final int threads;
+    private final int window;
+    private final int maxLength;
+    private final long timeBudgetMillis;
+
+    private final ThreadLocal<TwoPhaseSolver> solvers = ThreadLocal.withInitial(TwoPhaseSolver::new);
+
+    /**
+     * @param threads          The number of solving threads.
+     * @param window           The most scrambles in flight at once; at least {@code threads}.
+     * @param maxLength        The longest acceptable solution.
+     * @param timeBudgetMillis How long each solve may keep improving after its first solution.
+     */
+    public BatchSolver(int threads, int window, int maxLength, long timeBudgetMillis) {
+        if (threads < 1 || window < threads) {
+            throw new IllegalArgumentException("Need at least one thread and a window of at least " + threads);
+        }
+        this.threads = threads;
+        this.window = window;
+        this.maxLength = maxLength;
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    /**
+     * Solves every line of {@code input} and writes one result line per input line to {@code output}.
+     *
+     * @return The figures for the run.
+     * @throws IOException if reading or writing fails.
+     */
+    public BatchStatistics run(BufferedReader input, Writer output) throws IOException {
+        LatencyHistogram latencies = new LatencyHistogram();
+        Tally tally = new Tally();
+        long start = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("batch-solver-", 0).daemon().factory());
+        try {
+            Deque<Future<Result>> pending = new ArrayDeque<>(window);
+            for (String line = input.readLine(); line != null; line = input.readLine()) {
+                if (pending.size() == window) {
+                    tally.add(writeOldest(pending, output));
+                }
+                String scramble = line;
+                pending.addLast(executor.submit(() -> solve(scramble, latencies)));
+            }
+            while (!pending.isEmpty()) {
+                tally.add(writeOldest(pending, output));
+            }
+            output.flush();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return new BatchStatistics(tally.solved, tally.failed, System.nanoTime() - start, tally.moves, latencies);
+    }
+
+    private Result solve(String scramble, LatencyHistogram latencies) {
+        try {
+            CubieCube state;
+            String trimmed = scramble.trim();
+            if (trimmed.length() == Cube.FACELET_COUNT && trimmed.indexOf(' ') < 0) {
+                byte[] facelets = new byte[Cube.FACELET_COUNT];
+                int error = CubeValidator.parse(trimmed, facelets);
+                if (error == CubeValidator.VALID) {
+                    error = CubeValidator.validate(facelets);
+                }
+                if (error != CubeValidator.VALID) {
+                    return new Result(null, CubeValidator.describe(error));
+                }
+                state = CubieCube.fromFacelets(facelets);
+            } else {
+                Cube cube = new Cube();
+                cube.applySequence(MoveSequence.parse(scramble));
+                state = CubieCube.fromCube(cube);
+            }
+
+            long start = System.nanoTime();
+            MoveSequence solution = solvers.get().solve(state, maxLength, timeBudgetMillis, true, null);
+            latencies.record(System.nanoTime() - start);
+            if (solution == null) {
+                return new Result(null, "no solution within " + maxLength + " moves");
+            }
+            return new Result(solution, null);
+        } catch (IllegalArgumentException e) {
+            return new Result(null, e.getMessage());
+        }
+    }
+
+    /**
+     * Waits for the oldest pending solve and writes its line.
+     */
+    private static Result writeOldest(Deque<Future<Result>> pending, Writer output) throws IOException {
+        Result result = await(pending.removeFirst());
+        output.write(result.solution != null ? result.solution.toString() : "ERROR " + result.error);
+        output.write('\n');
+        return result;
+    }
+
+    private static Result await(Future<Result> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a solve", e);
+        } catch (ExecutionException e) {
+            return new Result(null, String.valueOf(e.getCause()));
+        }
+    }
+
+    private record Result(MoveSequence solution, String error) {
+    }
+
+    private static final class Tally {
+        long solved;
+        long failed;
+        long moves;
+
+        void add(Result result) {
+            if (result.solution != null) {
+                solved++;
+                moves += result.solution.length();
+            } else {
+                failed++;
+            }
+        }
+    }
+
+    /**
+     * Usage: {@code <input> <output> [--threads n] [--window n] [--max-length n] [--budget ms]}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length % 2 != 0) {
+            System.err.println("Usage: <input|-> <output|-> [--threads n] [--window n] [--max-length n] [--budget ms]");
+            System.exit(2);
+        }
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        int window = -1;
+        int maxLength = TwoPhaseSolver.DEFAULT_MAX_LENGTH;
+        long budget = 0;
+        for (int i = 2; i < args.length; i += 2) {
+            switch (args[i]) {
+                case "--threads" -> threads = Integer.parseInt(args[i + 1]);
+                case "--window" -> window = Integer.parseInt(args[i + 1]);
+                case "--max-length" -> maxLength = Integer.parseInt(args[i + 1]);
+                case "--budget" -> budget = Long.parseLong(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        BatchSolver solver = new BatchSolver(threads, window < 0 ? threads * 4 : window, maxLength, budget);
+
+        try (BufferedReader input = args[0].equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(args[0]));
+             Writer output = args[1].equals("-")
+                     ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                     : Files.newBufferedWriter(Path.of(args[1]))) {
+            System.err.println(solver.run(input, output));
+        }
+    }
+}
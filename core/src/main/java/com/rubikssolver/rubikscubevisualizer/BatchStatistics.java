@@ -0,0 +1,62 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+/**
+ * Figures from one {@link BatchSolver} run: how many scrambles went through, how fast, and how long single
+ * solves took.
+ */
+public final class BatchStatistics {
+    private final long solved;
+    private final long failed;
+    private final long elapsedNanos;
+    private final long totalMoves;
+    private final LatencyHistogram latencies;
+
+    BatchStatistics(long solved, long failed, long elapsedNanos, long totalMoves, LatencyHistogram latencies) {
+        this.solved = solved;
+        this.failed = failed;
+        this.elapsedNanos = elapsedNanos;
+        this.totalMoves = totalMoves;
+        this.latencies = latencies;
+    }
+
+    public long getSolved() {
+        return solved;
+    }
+
+    /**
+     * Gets the number of lines that could not be parsed or solved.
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getSolvesPerSecond() {
+        return elapsedNanos == 0 ? 0 : solved * 1e9 / elapsedNanos;
+    }
+
+    public double getAverageSolutionLength() {
+        return solved == 0 ? 0 : (double) totalMoves / solved;
+    }
+
+    /**
+     * Gets a single-solve latency percentile, within about 3%.
+     *
+     * @param fraction Between 0 and 1, e.g. 0.99 for the 99th percentile.
+     */
+    public long getLatencyNanos(double fraction) {
+        return latencies.percentile(fraction);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d solved, %d failed in %.1f s (%.0f solves/s), average %.2f moves%n"
+                        + "latency mean %.2f ms, p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms",
+                solved, failed, elapsedNanos / 1e9, getSolvesPerSecond(), getAverageSolutionLength(),
+                latencies.mean() / 1e6, getLatencyNanos(0.5) / 1e6, getLatencyNanos(0.9) / 1e6,
+                getLatencyNanos(0.99) / 1e6, getLatencyNanos(0.999) / 1e6, getLatencyNanos(1) / 1e6);
+    }
+}
@@ -0,0 +1,181 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Entry point of the core module and of its jlink image, for using the cube engine without JavaFX.
+ * <p>
+ * Commands:
+ * <ul>
+ *     <li>{@code solve <moves...>}: solves the cube the scramble leaves, with the two-phase solver.</li>
+ *     <li>{@code optimal <moves...>}: finds a shortest solution with the parallel optimal solver.</li>
+ *     <li>{@code simplify <moves...>}: prints the sequence {@linkplain MoveSimplifier simplified}.</li>
+ *     <li>{@code algorithms [category]}: lists the library algorithms.</li>
+ *     <li>{@code batch <input> <output> [options]}: runs the {@link BatchSolver}.</li>
+ *     <li>{@code scramble [count] [options]}: prints scrambles from a {@link ScrambleGenerator}, one per line.</li>
+ *     <li>{@code validate <input>}: checks states of 54 color letters, one per line, with the
+ *     {@link CubeValidator}.</li>
+ * </ul>
+ * Solutions and lists go to standard output; move counts and solver statistics go to standard error.
+ */
+public final class CommandLineApp {
+    private CommandLineApp() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            usage();
+            return;
+        }
+        String[] rest = Arrays.copyOfRange(args, 1, args.length);
+        try {
+            switch (args[0]) {
+                case "solve" -> solve(rest, false);
+                case "optimal" -> solve(rest, true);
+                case "simplify" -> simplify(rest);
+                case "algorithms" -> listAlgorithms(rest);
+                case "batch" -> BatchSolver.main(rest);
+                case "scramble" -> scramble(rest);
+                case "validate" -> validate(rest);
+                default -> usage();
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static void solve(String[] scramble, boolean optimal) {
+        Cube cube = new Cube();
+        cube.applySequence(MoveSequence.parse(String.join(" ", scramble)));
+
+        MoveSequence solution;
+        SolverStatistics statistics;
+        if (optimal) {
+            ParallelOptimalSolver solver = new ParallelOptimalSolver();
+            solution = solver.solve(cube);
+            statistics = solver.getLastStatistics();
+        } else {
+            TwoPhaseSolver solver = new TwoPhaseSolver();
+            solution = solver.solve(cube);
+            statistics = solver.getLastStatistics();
+        }
+        if (solution == null) {
+            System.err.println("No solution found");
+            System.exit(1);
+        }
+        System.out.println(solution);
+        System.err.println(statistics);
+    }
+
+    private static void simplify(String[] moves) {
+        MoveSequence sequence = MoveSequence.parse(String.join(" ", moves));
+        MoveSequence simplified = MoveSimplifier.simplify(sequence);
+        System.out.println(simplified);
+        System.err.println(MoveCount.of(sequence) + " -> " + MoveCount.of(simplified));
+    }
+
+    private static void listAlgorithms(String[] category) {
+        for (String name : AlgorithmFactory.getAllAlgorithmNames()) {
+            if (category.length == 0 || AlgorithmFactory.getCategory(name).equals(category[0])) {
+                System.out.println(AlgorithmFactory.getCategory(name) + " " + name + ": "
+                        + AlgorithmFactory.getAlgorithm(name).getSequence());
+            }
+        }
+    }
+
+    /**
+     * Prints random-move scrambles, or random-state ones with {@code --state}, solved in parallel but printed in
+     * order. Without {@code --seed} a seed is picked from the clock and printed to standard error, so the run can
+     * be repeated.
+     */
+    private static void scramble(String[] args) throws IOException {
+        long count = 1;
+        Long seed = null;
+        long first = 0;
+        int length = ScrambleGenerator.DEFAULT_LENGTH;
+        boolean randomState = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--seed" -> seed = Long.parseLong(optionValue(args, ++i));
+                case "--first" -> first = Long.parseLong(optionValue(args, ++i));
+                case "--length" -> length = Integer.parseInt(optionValue(args, ++i));
+                case "--state" -> randomState = true;
+                default -> count = Long.parseLong(args[i]);
+            }
+        }
+        if (seed == null) {
+            seed = System.nanoTime();
+            System.err.println("Seed: " + seed);
+        }
+
+        ScrambleGenerator generator = new ScrambleGenerator(seed, length);
+        PrintStream out = new PrintStream(new BufferedOutputStream(System.out, 1 << 16), false);
+        if (randomState) {
+            generator.randomStates(first, count).parallel().forEachOrdered(out::println);
+        } else {
+            generator.write(out, first, count);
+        }
+        out.flush();
+    }
+
+    /**
+     * Prints {@code OK} or {@code ERROR} and the reason for each line of the input, which may be {@code -} for
+     * standard input. Lines are read in chunks, and each chunk is validated in parallel.
+     */
+    private static void validate(String[] args) throws IOException {
+        if (args.length != 1) {
+            usage();
+        }
+        int chunk = 1 << 16;
+        byte[] facelets = new byte[chunk * Cube.FACELET_COUNT];
+        int[] results = new int[chunk];
+        int[] parseErrors = new int[chunk];
+        byte[] state = new byte[Cube.FACELET_COUNT];
+
+        PrintStream out = new PrintStream(new BufferedOutputStream(System.out, 1 << 16), false);
+        try (BufferedReader input = args[0].equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(args[0]))) {
+            String line = input.readLine();
+            while (line != null) {
+                int count = 0;
+                for (; line != null && count < chunk; line = input.readLine(), count++) {
+                    parseErrors[count] = CubeValidator.parse(line.trim(), state);
+                    System.arraycopy(state, 0, facelets, count * Cube.FACELET_COUNT, Cube.FACELET_COUNT);
+                }
+                CubeValidator.validateAll(facelets, results, count);
+                for (int i = 0; i < count; i++) {
+                    int error = parseErrors[i] != CubeValidator.VALID ? parseErrors[i] : results[i];
+                    out.println(error == CubeValidator.VALID ? "OK" : "ERROR " + CubeValidator.describe(error));
+                }
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Gets the value following an option, or prints the usage if the option is the last argument.
+     */
+    private static String optionValue(String[] args, int index) {
+        if (index >= args.length) {
+            usage();
+        }
+        return args[index];
+    }
+
+    private static void usage() {
+        System.err.println("Usage: solve <moves...> | optimal <moves...> | simplify <moves...> | algorithms [category]"
+                + " | batch <input|-> <output|-> [--threads n] [--window n] [--max-length n] [--budget ms]"
+                + " | scramble [count] [--seed n] [--first n] [--length n] [--state] | validate <input|->");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,269 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.util.Arrays;
+
+public class Cube implements FaceletCube {
+    public static final int U = 0;
+    public static final int R = 1;
+    public static final int F = 2;
+    public static final int D = 3;
+    public static final int L = 4;
+    public static final int B = 5;
+
+    public static final int FACELET_COUNT = MoveTables.FACELET_COUNT;
+
+    private static final String[] COLOR_CODES = {"Y", "O", "G", "W", "R", "B"};
+    private static final String COLOR_LETTERS = "YOGWRB";
+
+    /**
+     * One byte per sticker, indexed {@code face * 9 + row * 3 + col}. Each value is the index of the face whose
+     * color the sticker carries, so a solved cube holds {@code i / 9} at index {@code i}.
+     */
+    private final byte[] facelets = new byte[FACELET_COUNT];
+    private final byte[] scratch = new byte[FACELET_COUNT];
+
+    /**
+     * The {@link Zobrist} hash of {@link #facelets}, kept up to date by every change.
+     */
+    private long hash;
+
+    public Cube() {
+        reset();
+    }
+
+    @Override
+    public int getSize() {
+        return 3;
+    }
+
+    @Override
+    public int getFaceletCount() {
+        return FACELET_COUNT;
+    }
+
+    /**
+     * Sets the cube to the state the named algorithm solves. Pre-states come from the shared
+     * {@link PreStateCache}, so they are computed once per process rather than once per cube.
+     *
+     * @param algorithmName The algorithm name.
+     */
+    public void selectAlgorithm(String algorithmName) {
+        PreStateCache.shared().copyPreState(algorithmName, facelets);
+        hash = Zobrist.hash(facelets);
+    }
+
+    /**
+     * Overwrites the cube with the given facelets.
+     *
+     * @param newFacelets 54 facelet colors in the layout described by {@link #getFacelet(int)}.
+     */
+    @Override
+    public void setFacelets(byte[] newFacelets) {
+        System.arraycopy(newFacelets, 0, facelets, 0, FACELET_COUNT);
+        hash = Zobrist.hash(facelets);
+    }
+
+    /**
+     * Copies the facelets into a caller-owned buffer so hot loops can snapshot the cube without allocating.
+     *
+     * @param destination An array of at least {@link #FACELET_COUNT} bytes.
+     */
+    @Override
+    public void copyFaceletsTo(byte[] destination) {
+        System.arraycopy(facelets, 0, destination, 0, FACELET_COUNT);
+    }
+
+    /**
+     * Gets the color of one sticker.
+     *
+     * @param index The facelet index, {@code face * 9 + row * 3 + col}.
+     * @return The index of the face whose color the sticker carries.
+     */
+    @Override
+    public byte getFacelet(int index) {
+        return facelets[index];
+    }
+
+    /**
+     * Builds the sticker colors in the nested face/row/column form used by the UI.
+     *
+     * @return A new array of color codes.
+     */
+    public String[][][] getStateCopy() {
+        String[][][] copy = new String[6][3][3];
+        for (int face = 0; face < 6; face++) {
+            for (int row = 0; row < 3; row++) {
+                for (int col = 0; col < 3; col++) {
+                    copy[face][row][col] = COLOR_CODES[facelets[face * 9 + row * 3 + col]];
+                }
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Sets the sticker colors from the nested face/row/column form used by the UI.
+     *
+     * @param state Color codes as returned by {@link #getState()}.
+     * @throws IllegalArgumentException if the stickers are not a cube that face turns can reach, see
+     *                                  {@link CubeValidator}.
+     */
+    public void setState(String[][][] state) {
+        int error = CubeValidator.validate(state);
+        if (error != CubeValidator.VALID) {
+            throw new IllegalArgumentException("Invalid cube state: " + CubeValidator.describe(error));
+        }
+        for (int face = 0; face < 6; face++) {
+            for (int row = 0; row < 3; row++) {
+                for (int col = 0; col < 3; col++) {
+                    facelets[face * 9 + row * 3 + col] = (byte) colorOf(state[face][row][col]);
+                }
+            }
+        }
+        hash = Zobrist.hash(facelets);
+    }
+
+    /**
+     * Gets the facelet value of a color code.
+     *
+     * @return The index of the face the color belongs to, or -1 if it is not a color code.
+     */
+    static int colorOf(String code) {
+        return code != null && code.length() == 1 ? colorOf(code.charAt(0)) : -1;
+    }
+
+    static int colorOf(char letter) {
+        return COLOR_LETTERS.indexOf(letter);
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < FACELET_COUNT; i++) {
+            facelets[i] = (byte) (i / 9);
+        }
+        hash = Zobrist.SOLVED;
+    }
+
+    public void applyMove(String move) {
+        applyMove(MoveSequence.parseMove(move));
+    }
+
+    /**
+     * Applies a move by its code without allocating.
+     *
+     * @param move The move code, see {@link MoveSequence#parseMove(String)}.
+     */
+    @Override
+    public void applyMove(int move) {
+        hash = Zobrist.applyMove(facelets, move, hash);
+    }
+
+    @Override
+    public int[] movedFacelets(int move) {
+        return MoveTables.movedFacelets(move);
+    }
+
+    /**
+     * Applies every move of a compiled sequence in order.
+     *
+     * @param sequence The moves to apply.
+     */
+    public void applySequence(MoveSequence sequence) {
+        for (int i = 0, n = sequence.length(); i < n; i++) {
+            hash = Zobrist.applyMove(facelets, sequence.moveAt(i), hash);
+        }
+    }
+
+    /**
+     * Applies a precompiled permutation, such as a whole algorithm, in one pass.
+     *
+     * @param permutation The permutation to apply.
+     */
+    public void applyPermutation(FaceletPermutation permutation) {
+        permutation.apply(facelets, scratch);
+        System.arraycopy(scratch, 0, facelets, 0, FACELET_COUNT);
+        hash = Zobrist.hash(facelets);
+    }
+
+    public void applyAlgorithm(Algorithm algorithm) {
+        applyPermutation(algorithm.getPermutation());
+    }
+
+    public void undoAlgorithm(Algorithm algorithm) {
+        applyPermutation(algorithm.getInversePermutation());
+    }
+
+    /**
+     * Checks whether an algorithm would solve the current state, without changing it.
+     *
+     * @param algorithm The algorithm to check.
+     * @return true if applying the algorithm leaves the cube solved; false otherwise.
+     */
+    public boolean isSolvedBy(Algorithm algorithm) {
+        return algorithm.getPermutation().solves(facelets);
+    }
+
+    @Override
+    public boolean isSolved() {
+        for (int i = 0; i < FACELET_COUNT; i++) {
+            if (facelets[i] != i / 9) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets a 64-bit hash of the current state, updated incrementally as moves are applied. Equal states always
+     * have equal hashes, in this and every other run.
+     *
+     * @return The Zobrist hash of the facelets.
+     */
+    public long getStateHash() {
+        return hash;
+    }
+
+    /**
+     * Gets a hash that is the same for every state this one turns into under a whole-cube rotation or mirror
+     * image, for caches that store one entry per symmetry class.
+     *
+     * @return The Zobrist hash of the state's representative, see {@link Symmetry}.
+     */
+    public long getCanonicalHash() {
+        return Symmetry.canonicalHash(facelets, scratch);
+    }
+
+    /**
+     * Compares sticker states; the hashes are compared first, so unequal cubes are usually told apart at once.
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Cube other && hash == other.hash && Arrays.equals(facelets, other.facelets);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash);
+    }
+
+    public String getInverseMove(String move) {
+        return MoveSequence.moveName(MoveSequence.inverseMove(MoveSequence.parseMove(move)));
+    }
+
+    public void rotateFace(int faceIndex, boolean clockwise) {
+        if (faceIndex < U || faceIndex > B) {
+            throw new IllegalArgumentException("Invalid face index: " + faceIndex);
+        }
+        applyMove(faceIndex * 3 + (clockwise ? 0 : 2));
+    }
+
+    /**
+     * Builds the sticker colors in the nested face/row/column form used by the UI. The facelets are stored
+     * packed, so this is a fresh array on every call; prefer {@link #getFacelet(int)} in loops.
+     *
+     * @return A new array of color codes.
+     */
+    public String[][][] getState() {
+        return getStateCopy();
+    }
+}
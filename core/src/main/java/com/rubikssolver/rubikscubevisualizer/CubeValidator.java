@@ -0,0 +1,279 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Checks that a sticker state from outside, such as a file or manual entry, is a cube that can be reached by
+ * turning faces, and reports the first thing wrong with it as an error code.
+ * <p>
+ * The checks run in order: the facelet count, each color is one of the six, the centers differ, each color
+ * appears 9 times, every corner and edge slot holds a sticker combination a real piece has, no piece appears
+ * twice, the corner twists sum to a multiple of 3, the edge flips to a multiple of 2, and corner and edge
+ * permutations have the same parity. Colors are matched against the centers, as {@link CubieCube} reads them, so
+ * a cube rotated as a whole is valid.
+ * <p>
+ * Pieces are identified through lookup tables built once, and the per-state bookkeeping lives in bit fields in
+ * local variables, so validating a byte array allocates nothing. {@link #validateAll(byte[], int[])} spreads
+ * states packed back to back over every core.
+ */
+public final class CubeValidator {
+    public static final int VALID = 0;
+    public static final int WRONG_FACELET_COUNT = 1;
+    public static final int INVALID_COLOR = 2;
+    public static final int DUPLICATE_CENTER = 3;
+    public static final int WRONG_COLOR_COUNT = 4;
+    public static final int INVALID_CORNER = 5;
+    public static final int INVALID_EDGE = 6;
+    public static final int DUPLICATE_CORNER = 7;
+    public static final int DUPLICATE_EDGE = 8;
+    public static final int CORNER_TWIST = 9;
+    public static final int EDGE_FLIP = 10;
+    public static final int PERMUTATION_PARITY = 11;
+
+    private static final String[] DESCRIPTIONS = {
+            "valid",
+            "not 54 facelets",
+            "a sticker has no valid color",
+            "two centers have the same color",
+            "a color does not appear exactly 9 times",
+            "a corner slot holds stickers no corner has",
+            "an edge slot holds stickers no edge has",
+            "a corner appears twice",
+            "an edge appears twice",
+            "the corner twists do not sum to a multiple of 3",
+            "an odd number of edges are flipped",
+            "corner and edge permutations have different parity"
+    };
+
+    /**
+     * The corner and twist read from a slot's three stickers, as {@code corner * 3 + twist}, indexed by the faces
+     * of the stickers in slot order, {@code (a * 6 + b) * 6 + c}; -1 where no corner has those stickers.
+     */
+    private static final byte[] CORNER_LOOKUP = new byte[6 * 6 * 6];
+
+    /**
+     * The edge and flip read from a slot's two stickers, as {@code edge * 2 + flip}, indexed {@code a * 6 + b}.
+     */
+    private static final byte[] EDGE_LOOKUP = new byte[6 * 6];
+
+    /**
+     * The facelets of each corner and edge slot, flattened from {@link CubieCube#CORNER_FACELETS} and
+     * {@link CubieCube#EDGE_FACELETS}.
+     */
+    private static final byte[] CORNER_SLOTS = new byte[CubieCube.CORNER_COUNT * 3];
+    private static final byte[] EDGE_SLOTS = new byte[CubieCube.EDGE_COUNT * 2];
+
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[Cube.FACELET_COUNT]);
+
+    static {
+        Arrays.fill(CORNER_LOOKUP, (byte) -1);
+        Arrays.fill(EDGE_LOOKUP, (byte) -1);
+        for (int corner = 0; corner < CubieCube.CORNER_COUNT; corner++) {
+            int[] facelets = CubieCube.CORNER_FACELETS[corner];
+            for (int i = 0; i < 3; i++) {
+                CORNER_SLOTS[corner * 3 + i] = (byte) facelets[i];
+            }
+            for (int twist = 0; twist < 3; twist++) {
+                // With this twist, the corner's U/D sticker sits at position twist of the slot.
+                int[] faces = new int[3];
+                for (int i = 0; i < 3; i++) {
+                    faces[(twist + i) % 3] = facelets[i] / 9;
+                }
+                CORNER_LOOKUP[(faces[0] * 6 + faces[1]) * 6 + faces[2]] = (byte) (corner * 3 + twist);
+            }
+        }
+        for (int edge = 0; edge < CubieCube.EDGE_COUNT; edge++) {
+            EDGE_SLOTS[edge * 2] = (byte) CubieCube.EDGE_FACELETS[edge][0];
+            EDGE_SLOTS[edge * 2 + 1] = (byte) CubieCube.EDGE_FACELETS[edge][1];
+            int a = CubieCube.EDGE_FACELETS[edge][0] / 9;
+            int b = CubieCube.EDGE_FACELETS[edge][1] / 9;
+            EDGE_LOOKUP[a * 6 + b] = (byte) (edge * 2);
+            EDGE_LOOKUP[b * 6 + a] = (byte) (edge * 2 + 1);
+        }
+    }
+
+    private CubeValidator() {
+    }
+
+    /**
+     * Validates 54 facelets in the layout of {@link Cube}.
+     *
+     * @return {@link #VALID} or the error code of the first check that fails.
+     */
+    public static int validate(byte[] facelets) {
+        if (facelets.length != Cube.FACELET_COUNT) {
+            return WRONG_FACELET_COUNT;
+        }
+        return validate(facelets, 0);
+    }
+
+    /**
+     * Validates the 54 facelets starting at {@code offset}, such as one of many states packed back to back.
+     *
+     * @return {@link #VALID} or the error code of the first check that fails.
+     */
+    public static int validate(byte[] facelets, int offset) {
+        if (offset < 0 || offset + Cube.FACELET_COUNT > facelets.length) {
+            return WRONG_FACELET_COUNT;
+        }
+
+        // Six 6-bit color counts, then the face of each center color in 3 bits.
+        long counts = 0;
+        for (int i = offset; i < offset + Cube.FACELET_COUNT; i++) {
+            int color = facelets[i];
+            if (color < 0 || color >= 6) {
+                return INVALID_COLOR;
+            }
+            counts += 1L << (color * 6);
+        }
+        int faceOfColor = 0;
+        int centers = 0;
+        for (int face = 0; face < 6; face++) {
+            int color = facelets[offset + face * 9 + 4];
+            if ((centers & 1 << color) != 0) {
+                return DUPLICATE_CENTER;
+            }
+            centers |= 1 << color;
+            faceOfColor |= face << (color * 3);
+        }
+        for (int color = 0; color < 6; color++) {
+            if ((counts >>> (color * 6) & 0x3F) != 9) {
+                return WRONG_COLOR_COUNT;
+            }
+        }
+
+        // Pieces are read slot by slot; a piece's inversions are the pieces seen before it with a higher number,
+        // so the parities build up from the bit masks of pieces seen without storing the permutations.
+        int corners = 0;
+        int twist = 0;
+        int inversions = 0;
+        for (int slot = 0; slot < CubieCube.CORNER_COUNT; slot++) {
+            int a = faceOfColor >>> (facelets[offset + CORNER_SLOTS[slot * 3]] * 3) & 7;
+            int b = faceOfColor >>> (facelets[offset + CORNER_SLOTS[slot * 3 + 1]] * 3) & 7;
+            int c = faceOfColor >>> (facelets[offset + CORNER_SLOTS[slot * 3 + 2]] * 3) & 7;
+            int piece = CORNER_LOOKUP[(a * 6 + b) * 6 + c];
+            if (piece < 0) {
+                return INVALID_CORNER;
+            }
+            int corner = piece / 3;
+            if ((corners & 1 << corner) != 0) {
+                return DUPLICATE_CORNER;
+            }
+            inversions += Integer.bitCount(corners >>> corner);
+            corners |= 1 << corner;
+            twist += piece - corner * 3;
+        }
+
+        int edges = 0;
+        int flip = 0;
+        for (int slot = 0; slot < CubieCube.EDGE_COUNT; slot++) {
+            int a = faceOfColor >>> (facelets[offset + EDGE_SLOTS[slot * 2]] * 3) & 7;
+            int b = faceOfColor >>> (facelets[offset + EDGE_SLOTS[slot * 2 + 1]] * 3) & 7;
+            int piece = EDGE_LOOKUP[a * 6 + b];
+            if (piece < 0) {
+                return INVALID_EDGE;
+            }
+            int edge = piece >>> 1;
+            if ((edges & 1 << edge) != 0) {
+                return DUPLICATE_EDGE;
+            }
+            inversions += Integer.bitCount(edges >>> edge);
+            edges |= 1 << edge;
+            flip += piece & 1;
+        }
+
+        if (twist % 3 != 0) {
+            return CORNER_TWIST;
+        }
+        if ((flip & 1) != 0) {
+            return EDGE_FLIP;
+        }
+        if ((inversions & 1) != 0) {
+            return PERMUTATION_PARITY;
+        }
+        return VALID;
+    }
+
+    /**
+     * Validates stickers in the nested face/row/column form of {@link Cube#getState()}.
+     *
+     * @return {@link #VALID} or the error code of the first check that fails.
+     */
+    public static int validate(String[][][] state) {
+        if (state == null || state.length != 6) {
+            return WRONG_FACELET_COUNT;
+        }
+        byte[] facelets = SCRATCH.get();
+        for (int face = 0; face < 6; face++) {
+            if (state[face] == null || state[face].length != 3) {
+                return WRONG_FACELET_COUNT;
+            }
+            for (int row = 0; row < 3; row++) {
+                if (state[face][row] == null || state[face][row].length != 3) {
+                    return WRONG_FACELET_COUNT;
+                }
+                for (int col = 0; col < 3; col++) {
+                    int color = Cube.colorOf(state[face][row][col]);
+                    if (color < 0) {
+                        return INVALID_COLOR;
+                    }
+                    facelets[face * 9 + row * 3 + col] = (byte) color;
+                }
+            }
+        }
+        return validate(facelets, 0);
+    }
+
+    /**
+     * Reads 54 color letters, one per facelet in the layout of {@link Cube}, such as a line of an input file.
+     *
+     * @param text        The letters, with nothing around them.
+     * @param destination Receives the facelets.
+     * @return {@link #VALID}, {@link #WRONG_FACELET_COUNT} or {@link #INVALID_COLOR}; the state itself is not
+     * checked.
+     */
+    public static int parse(CharSequence text, byte[] destination) {
+        if (text.length() != Cube.FACELET_COUNT) {
+            return WRONG_FACELET_COUNT;
+        }
+        for (int i = 0; i < Cube.FACELET_COUNT; i++) {
+            int color = Cube.colorOf(text.charAt(i));
+            if (color < 0) {
+                return INVALID_COLOR;
+            }
+            destination[i] = (byte) color;
+        }
+        return VALID;
+    }
+
+    /**
+     * Validates states packed back to back, 54 facelets each, in parallel.
+     *
+     * @param facelets The states.
+     * @param results  Receives one error code per state; its length is the number of states.
+     */
+    public static void validateAll(byte[] facelets, int[] results) {
+        validateAll(facelets, results, results.length);
+    }
+
+    /**
+     * Validates the first {@code count} states packed back to back, so buffers can be reused for a stream of
+     * states.
+     *
+     * @param facelets The states.
+     * @param results  Receives one error code per state, from index 0.
+     * @param count    The number of states.
+     */
+    public static void validateAll(byte[] facelets, int[] results, int count) {
+        IntStream.range(0, count).parallel()
+                .forEach(i -> results[i] = validate(facelets, i * Cube.FACELET_COUNT));
+    }
+
+    /**
+     * Describes an error code in words, for messages.
+     */
+    public static String describe(int code) {
+        return DESCRIPTIONS[code];
+    }
+}
@@ -0,0 +1,338 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+/**
+ * The cube described by its pieces rather than its stickers: which corner and edge sits in each slot, and how it
+ * is twisted or flipped there. This is the form solvers and validators work in.
+ * <p>
+ * Corner slots are URF, UFL, ULB, UBR, DFR, DLF, DBL, DRB and edge slots UR, UF, UL, UB, DR, DF, DL, DB, FR, FL,
+ * BL, BR. {@code cornerPermutation[i]} is the corner in slot {@code i} and {@code cornerOrientation[i]} its
+ * clockwise twist (0-2) relative to the U/D axis; edges likewise with a flip of 0 or 1.
+ */
+public final class CubieCube {
+    public static final int CORNER_COUNT = 8;
+    public static final int EDGE_COUNT = 12;
+
+    /**
+     * The facelets of each corner slot, starting with its U or D sticker and going clockwise.
+     */
+    static final int[][] CORNER_FACELETS = {
+            {8, 9, 20}, {6, 18, 38}, {0, 36, 47}, {2, 45, 11},
+            {29, 26, 15}, {27, 44, 24}, {33, 53, 42}, {35, 17, 51}
+    };
+
+    /**
+     * The facelets of each edge slot, starting with its U/D sticker, or its F/B sticker for the middle layer.
+     */
+    static final int[][] EDGE_FACELETS = {
+            {5, 10}, {7, 19}, {3, 37}, {1, 46}, {32, 16}, {28, 25},
+            {30, 43}, {34, 52}, {23, 12}, {21, 41}, {50, 39}, {48, 14}
+    };
+
+    private static final CubieCube[] MOVES = new CubieCube[MoveTables.FACE_MOVE_COUNT];
+
+    static {
+        // Derive the piece-level effect of each face turn from the facelet tables so both models always agree.
+        byte[] facelets = new byte[Cube.FACELET_COUNT];
+        for (int move = 0; move < MoveTables.FACE_MOVE_COUNT; move++) {
+            for (int i = 0; i < Cube.FACELET_COUNT; i++) {
+                facelets[i] = (byte) (i / 9);
+            }
+            MoveTables.apply(facelets, move);
+            MOVES[move] = fromFacelets(facelets);
+        }
+    }
+
+    final byte[] cornerPermutation = new byte[CORNER_COUNT];
+    final byte[] cornerOrientation = new byte[CORNER_COUNT];
+    final byte[] edgePermutation = new byte[EDGE_COUNT];
+    final byte[] edgeOrientation = new byte[EDGE_COUNT];
+
+    /**
+     * Creates a solved cube.
+     */
+    public CubieCube() {
+        for (int i = 0; i < CORNER_COUNT; i++) {
+            cornerPermutation[i] = (byte) i;
+        }
+        for (int i = 0; i < EDGE_COUNT; i++) {
+            edgePermutation[i] = (byte) i;
+        }
+    }
+
+    public CubieCube(CubieCube other) {
+        copyFrom(other);
+    }
+
+    public static CubieCube fromCube(Cube cube) {
+        byte[] facelets = new byte[Cube.FACELET_COUNT];
+        cube.copyFaceletsTo(facelets);
+        return fromFacelets(facelets);
+    }
+
+    /**
+     * Reads the pieces from 54 facelets. Colors are matched against the centers, so a cube that has been
+     * rotated as a whole is read relative to its current orientation.
+     *
+     * @param facelets The facelets, as held by {@link Cube}.
+     * @return The cube in piece form.
+     * @throws IllegalArgumentException if a slot holds a sticker combination no real piece has.
+     */
+    public static CubieCube fromFacelets(byte[] facelets) {
+        int[] faceOfColor = new int[6];
+        for (int face = 0; face < 6; face++) {
+            faceOfColor[facelets[face * 9 + 4]] = face;
+        }
+
+        CubieCube cube = new CubieCube();
+        for (int slot = 0; slot < CORNER_COUNT; slot++) {
+            int[] slotFacelets = CORNER_FACELETS[slot];
+            int twist = 0;
+            while (twist < 3) {
+                int face = faceOfColor[facelets[slotFacelets[twist]]];
+                if (face == Cube.U || face == Cube.D) {
+                    break;
+                }
+                twist++;
+            }
+            if (twist == 3) {
+                throw new IllegalArgumentException("Corner slot " + slot + " has no U or D sticker");
+            }
+
+            // All three faces must match, U/D sticker included, or a mirrored corner would pass for another one.
+            int upDown = faceOfColor[facelets[slotFacelets[twist]]];
+            int first = faceOfColor[facelets[slotFacelets[(twist + 1) % 3]]];
+            int second = faceOfColor[facelets[slotFacelets[(twist + 2) % 3]]];
+            int corner = 0;
+            while (corner < CORNER_COUNT && (CORNER_FACELETS[corner][0] / 9 != upDown
+                    || CORNER_FACELETS[corner][1] / 9 != first || CORNER_FACELETS[corner][2] / 9 != second)) {
+                corner++;
+            }
+            if (corner == CORNER_COUNT) {
+                throw new IllegalArgumentException("Corner slot " + slot + " holds no valid corner");
+            }
+            cube.cornerPermutation[slot] = (byte) corner;
+            cube.cornerOrientation[slot] = (byte) twist;
+        }
+
+        for (int slot = 0; slot < EDGE_COUNT; slot++) {
+            int first = faceOfColor[facelets[EDGE_FACELETS[slot][0]]];
+            int second = faceOfColor[facelets[EDGE_FACELETS[slot][1]]];
+            int edge = 0;
+            while (edge < EDGE_COUNT) {
+                int a = EDGE_FACELETS[edge][0] / 9;
+                int b = EDGE_FACELETS[edge][1] / 9;
+                if (a == first && b == second) {
+                    cube.edgeOrientation[slot] = 0;
+                    break;
+                }
+                if (a == second && b == first) {
+                    cube.edgeOrientation[slot] = 1;
+                    break;
+                }
+                edge++;
+            }
+            if (edge == EDGE_COUNT) {
+                throw new IllegalArgumentException("Edge slot " + slot + " holds no valid edge");
+            }
+            cube.edgePermutation[slot] = (byte) edge;
+        }
+        return cube;
+    }
+
+    /**
+     * Gets the piece-level effect of a face turn. The returned cube is shared and must not be modified.
+     *
+     * @param move A face-turn move code (0-17).
+     * @return The move as a cube.
+     */
+    static CubieCube move(int move) {
+        return MOVES[move];
+    }
+
+    public void copyFrom(CubieCube other) {
+        System.arraycopy(other.cornerPermutation, 0, cornerPermutation, 0, CORNER_COUNT);
+        System.arraycopy(other.cornerOrientation, 0, cornerOrientation, 0, CORNER_COUNT);
+        System.arraycopy(other.edgePermutation, 0, edgePermutation, 0, EDGE_COUNT);
+        System.arraycopy(other.edgeOrientation, 0, edgeOrientation, 0, EDGE_COUNT);
+    }
+
+    /**
+     * Stores {@code a} followed by {@code b} in this cube. This cube may not be {@code a} or {@code b}.
+     *
+     * @param a The state applied first.
+     * @param b The state or move applied second.
+     */
+    public void multiply(CubieCube a, CubieCube b) {
+        for (int i = 0; i < CORNER_COUNT; i++) {
+            int from = b.cornerPermutation[i];
+            cornerPermutation[i] = a.cornerPermutation[from];
+            cornerOrientation[i] = (byte) ((a.cornerOrientation[from] + b.cornerOrientation[i]) % 3);
+        }
+        for (int i = 0; i < EDGE_COUNT; i++) {
+            int from = b.edgePermutation[i];
+            edgePermutation[i] = a.edgePermutation[from];
+            edgeOrientation[i] = (byte) ((a.edgeOrientation[from] + b.edgeOrientation[i]) & 1);
+        }
+    }
+
+    /**
+     * Applies a face turn in place.
+     *
+     * @param move A face-turn move code (0-17).
+     */
+    public void applyMove(int move) {
+        CubieCube before = new CubieCube(this);
+        multiply(before, MOVES[move]);
+    }
+
+    /**
+     * Writes the facelets of this cube in the standard orientation.
+     *
+     * @param facelets Receives the 54 facelets.
+     */
+    public void toFacelets(byte[] facelets) {
+        for (int i = 0; i < 6; i++) {
+            facelets[i * 9 + 4] = (byte) i;
+        }
+        for (int slot = 0; slot < CORNER_COUNT; slot++) {
+            int corner = cornerPermutation[slot];
+            int twist = cornerOrientation[slot];
+            for (int k = 0; k < 3; k++) {
+                facelets[CORNER_FACELETS[slot][(k + twist) % 3]] = (byte) (CORNER_FACELETS[corner][k] / 9);
+            }
+        }
+        for (int slot = 0; slot < EDGE_COUNT; slot++) {
+            int edge = edgePermutation[slot];
+            int flip = edgeOrientation[slot];
+            for (int k = 0; k < 2; k++) {
+                facelets[EDGE_FACELETS[slot][(k + flip) % 2]] = (byte) (EDGE_FACELETS[edge][k] / 9);
+            }
+        }
+    }
+
+    public int getCorner(int slot) {
+        return cornerPermutation[slot];
+    }
+
+    public int getCornerTwist(int slot) {
+        return cornerOrientation[slot];
+    }
+
+    public int getEdge(int slot) {
+        return edgePermutation[slot];
+    }
+
+    public int getEdgeFlip(int slot) {
+        return edgeOrientation[slot];
+    }
+
+    /**
+     * Gets the corner twist coordinate: the twists of the first seven corners in base 3 (0-2186).
+     * The eighth twist is implied by the others on a solvable cube.
+     */
+    public int cornerTwistCoordinate() {
+        int coordinate = 0;
+        for (int i = 0; i < CORNER_COUNT - 1; i++) {
+            coordinate = coordinate * 3 + cornerOrientation[i];
+        }
+        return coordinate;
+    }
+
+    /**
+     * Gets the rank of the corner permutation among all 8! permutations (0-40319).
+     */
+    public int cornerPermutationCoordinate() {
+        return rankPermutation(cornerPermutation);
+    }
+
+    public boolean isSolved() {
+        for (int i = 0; i < CORNER_COUNT; i++) {
+            if (cornerPermutation[i] != i || cornerOrientation[i] != 0) {
+                return false;
+            }
+        }
+        for (int i = 0; i < EDGE_COUNT; i++) {
+            if (edgePermutation[i] != i || edgeOrientation[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks that every piece appears once and that twist, flip and permutation parity are those of a state
+     * reachable by turning faces.
+     *
+     * @return true if the state can be solved; false otherwise.
+     */
+    public boolean isSolvable() {
+        int corners = 0;
+        int twist = 0;
+        for (int i = 0; i < CORNER_COUNT; i++) {
+            corners |= 1 << cornerPermutation[i];
+            twist += cornerOrientation[i];
+        }
+        int edges = 0;
+        int flip = 0;
+        for (int i = 0; i < EDGE_COUNT; i++) {
+            edges |= 1 << edgePermutation[i];
+            flip += edgeOrientation[i];
+        }
+        return corners == (1 << CORNER_COUNT) - 1 && edges == (1 << EDGE_COUNT) - 1
+                && twist % 3 == 0 && flip % 2 == 0
+                && parity(cornerPermutation) == parity(edgePermutation);
+    }
+
+    /**
+     * Gets the parity of a permutation: 0 if it is even, 1 if it is odd.
+     */
+    static int parity(byte[] permutation) {
+        int inversions = 0;
+        for (int i = 0; i < permutation.length; i++) {
+            for (int j = i + 1; j < permutation.length; j++) {
+                if (permutation[i] > permutation[j]) {
+                    inversions++;
+                }
+            }
+        }
+        return inversions & 1;
+    }
+
+    /**
+     * Ranks a permutation of {@code 0..n-1} in lexicographic order.
+     */
+    static int rankPermutation(byte[] permutation) {
+        int n = permutation.length;
+        int rank = 0;
+        int used = 0;
+        for (int i = 0; i < n; i++) {
+            int value = permutation[i];
+            int smallerUnused = value - Integer.bitCount(used & ((1 << value) - 1));
+            rank = rank * (n - i) + smallerUnused;
+            used |= 1 << value;
+        }
+        return rank;
+    }
+
+    /**
+     * Inverse of {@link #rankPermutation(byte[])}.
+     */
+    static void unrankPermutation(int rank, byte[] permutation) {
+        int n = permutation.length;
+        int[] digits = new int[n];
+        for (int i = n - 1; i >= 0; i--) {
+            digits[i] = rank % (n - i);
+            rank /= n - i;
+        }
+        int used = 0;
+        for (int i = 0; i < n; i++) {
+            int remaining = digits[i];
+            int value = 0;
+            while ((used & (1 << value)) != 0 || remaining-- > 0) {
+                value++;
+            }
+            permutation[i] = (byte) value;
+            used |= 1 << value;
+        }
+    }
+}
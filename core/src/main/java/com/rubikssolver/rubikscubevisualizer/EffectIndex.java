@@ -0,0 +1,222 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the algorithms whose effect is closest to a given one, by {@link EffectSignature} distance, with a
+ * vantage-point tree.
+ * <p>
+ * Each node of the tree is an algorithm and the median distance from it to the rest of its subtree: closer
+ * algorithms go to the inner child, the others to the outer one. Subtrees of up to 16 algorithms are left as flat
+ * runs and scanned. A query keeps the {@code k} best found so far and
+ * skips any child the triangle inequality shows cannot hold anything better, so it visits a small part of the
+ * library. An algorithm performed from another side differs from the original only by a y rotation before and
+ * after, so every query is also run for its three y conjugates and each algorithm is ranked by its closest match.
+ * The tree is built once and never changes.
+ */
+public final class EffectIndex {
+    private static final int Y_TURNS = 4;
+    private static final int WORDS = EffectSignature.BITS / Long.SIZE;
+    private static final int LEAF_SIZE = 16;
+
+    private static final FaceletPermutation Y_TURN = FaceletPermutation.of(MoveSequence.parse("y"));
+    private static final FaceletPermutation Y_TURN_INVERSE = Y_TURN.inverse();
+
+    private static final class Holder {
+        static final EffectIndex SHARED = fromLibrary();
+    }
+
+    private final Algorithm[] algorithms;
+    private final EffectSignature[] signatures;
+    private final Map<String, Integer> idsByName = new HashMap<>();
+
+    /**
+     * The signature words of each tree node, four per node in tree order, so a search reads them sequentially.
+     */
+    private final long[] words;
+
+    /**
+     * The tree in preorder over {@code [from, to)}: the node's algorithm is at {@code from}, its inner subtree in
+     * {@code [from + 1, from + 1 + innerSize[from])} and its outer subtree after that. {@code radius[from]} is the
+     * largest distance from the node to anything in its inner subtree.
+     */
+    private final int[] nodes;
+    private final int[] radius;
+    private final int[] innerSize;
+
+    /**
+     * Builds an index over the given algorithms.
+     */
+    public EffectIndex(List<Algorithm> algorithms) {
+        int count = algorithms.size();
+        this.algorithms = algorithms.toArray(new Algorithm[0]);
+        this.signatures = new EffectSignature[count];
+        this.nodes = new int[count];
+        this.radius = new int[count];
+        this.innerSize = new int[count];
+        for (int i = 0; i < count; i++) {
+            signatures[i] = EffectSignature.of(this.algorithms[i]);
+            nodes[i] = i;
+            idsByName.putIfAbsent(this.algorithms[i].getName(), i);
+        }
+        build(0, count, new long[count]);
+
+        words = new long[count * WORDS];
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(signatures[nodes[i]].toLongArray(), 0, words, i * WORDS, WORDS);
+        }
+    }
+
+    /**
+     * Gets the index of every algorithm in {@link AlgorithmFactory}, building it on first use.
+     */
+    public static EffectIndex shared() {
+        return Holder.SHARED;
+    }
+
+    public static EffectIndex fromLibrary() {
+        List<Algorithm> algorithms = new ArrayList<>();
+        for (String name : AlgorithmFactory.getAllAlgorithmNames()) {
+            algorithms.add(AlgorithmFactory.getAlgorithm(name));
+        }
+        algorithms.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return new EffectIndex(algorithms);
+    }
+
+    public int size() {
+        return algorithms.length;
+    }
+
+    /**
+     * Finds the algorithms with the most similar effect, leaving out the query itself if it is indexed.
+     *
+     * @param algorithm The algorithm to compare against; it need not be in the index.
+     * @param k         The most results to return; none if it is 0 or less.
+     * @return Up to {@code k} algorithms, closest first.
+     */
+    public List<Algorithm> nearest(Algorithm algorithm, int k) {
+        if (k <= 0) {
+            return List.of();
+        }
+        Neighbors best = new Neighbors(k);
+        FaceletPermutation permutation = algorithm.getPermutation();
+        int excluded = idsByName.getOrDefault(algorithm.getName(), -1);
+        for (int turn = 0; turn < Y_TURNS; turn++) {
+            search(0, algorithms.length, EffectSignature.of(permutation).toLongArray(), excluded, best);
+            permutation = Y_TURN_INVERSE.then(permutation).then(Y_TURN);
+        }
+
+        List<Algorithm> result = new ArrayList<>(best.size);
+        for (int i = 0; i < best.size; i++) {
+            result.add(algorithms[best.ids[i]]);
+        }
+        return result;
+    }
+
+    private void build(int from, int to, long[] keys) {
+        if (to - from <= LEAF_SIZE) {
+            return;
+        }
+        // Pack each distance above its node so one sort orders the rest of the range by distance.
+        EffectSignature vantage = signatures[nodes[from]];
+        for (int i = from + 1; i < to; i++) {
+            keys[i] = (long) vantage.distance(signatures[nodes[i]]) << 32 | nodes[i];
+        }
+        Arrays.sort(keys, from + 1, to);
+        for (int i = from + 1; i < to; i++) {
+            nodes[i] = (int) keys[i];
+        }
+
+        int inner = (to - from) / 2;
+        innerSize[from] = inner;
+        radius[from] = (int) (keys[from + inner] >>> 32);
+        build(from + 1, from + 1 + inner, keys);
+        build(from + 1 + inner, to, keys);
+    }
+
+    private void search(int from, int to, long[] query, int excluded, Neighbors best) {
+        if (to - from <= LEAF_SIZE) {
+            for (int i = from; i < to; i++) {
+                int distance = distance(query, i);
+                if (nodes[i] != excluded && distance < best.bound()) {
+                    best.offer(nodes[i], distance);
+                }
+            }
+            return;
+        }
+        int distance = distance(query, from);
+        if (nodes[from] != excluded) {
+            best.offer(nodes[from], distance);
+        }
+
+        int innerEnd = from + 1 + innerSize[from];
+        if (distance <= radius[from]) {
+            search(from + 1, innerEnd, query, excluded, best);
+            if (distance + best.bound() > radius[from]) {
+                search(innerEnd, to, query, excluded, best);
+            }
+        } else {
+            search(innerEnd, to, query, excluded, best);
+            if (distance - best.bound() <= radius[from]) {
+                search(from + 1, innerEnd, query, excluded, best);
+            }
+        }
+    }
+
+    private int distance(long[] query, int position) {
+        int base = position * WORDS;
+        return Long.bitCount(query[0] ^ words[base]) + Long.bitCount(query[1] ^ words[base + 1])
+                + Long.bitCount(query[2] ^ words[base + 2]) + Long.bitCount(query[3] ^ words[base + 3]);
+    }
+
+    /**
+     * The best {@code k} matches so far, sorted by distance, with each algorithm kept at most once.
+     */
+    private static final class Neighbors {
+        final int[] ids;
+        final int[] distances;
+        int size;
+
+        Neighbors(int k) {
+            ids = new int[k];
+            distances = new int[k];
+        }
+
+        /**
+         * Gets the distance a new match must beat: anything while there is room, else the worst kept.
+         */
+        int bound() {
+            return size < ids.length ? Integer.MAX_VALUE / 2 : distances[size - 1];
+        }
+
+        void offer(int id, int distance) {
+            int slot = 0;
+            while (slot < size && ids[slot] != id) {
+                slot++;
+            }
+            if (slot < size) {
+                if (distances[slot] <= distance) {
+                    return;
+                }
+                size--;
+                System.arraycopy(ids, slot + 1, ids, slot, size - slot);
+                System.arraycopy(distances, slot + 1, distances, slot, size - slot);
+            } else if (distance >= bound()) {
+                return;
+            } else if (size == ids.length) {
+                size--;
+            }
+            int i = size++;
+            for (; i > 0 && distances[i - 1] > distance; i--) {
+                ids[i] = ids[i - 1];
+                distances[i] = distances[i - 1];
+            }
+            ids[i] = id;
+            distances[i] = distance;
+        }
+    }
+}
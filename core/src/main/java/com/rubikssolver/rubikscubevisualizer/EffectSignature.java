@@ -0,0 +1,161 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+/**
+ * A fixed-width 256-bit summary of what an algorithm does to the cube, regardless of how it is written, so the
+ * effects of two algorithms can be compared by counting differing bits.
+ * <p>
+ * The four 64-bit words describe:
+ * <ol>
+ *     <li>which of the 54 facelets the algorithm moves;</li>
+ *     <li>where they move to, each (from, to) pair hashed onto one bit;</li>
+ *     <li>the piece cycle structure, as counts of corner and edge cycles of each length, twisted corners and
+ *     flipped edges, each count written as a run of set bits so that close counts differ in few bits;</li>
+ *     <li>which last-layer pieces are moved and which are reoriented, and which other pieces are disturbed.</li>
+ * </ol>
+ * Two algorithms with the same effect have the same signature, and ones that solve nearly the same case differ
+ * in few bits.
+ */
+public final class EffectSignature {
+    public static final int BITS = 4 * Long.SIZE;
+
+    private static final int LAST_LAYER_CORNERS = 4;
+    private static final int LAST_LAYER_EDGES = 4;
+
+    private final long moved;
+    private final long mapping;
+    private final long cycles;
+    private final long pieces;
+
+    private EffectSignature(long moved, long mapping, long cycles, long pieces) {
+        this.moved = moved;
+        this.mapping = mapping;
+        this.cycles = cycles;
+        this.pieces = pieces;
+    }
+
+    public static EffectSignature of(Algorithm algorithm) {
+        return of(algorithm.getPermutation());
+    }
+
+    public static EffectSignature of(FaceletPermutation permutation) {
+        long moved = 0;
+        long mapping = 0;
+        byte[] facelets = new byte[Cube.FACELET_COUNT];
+        for (int i = 0; i < Cube.FACELET_COUNT; i++) {
+            int source = permutation.sourceOf(i);
+            facelets[i] = (byte) (source / 9);
+            if (source != i) {
+                moved |= 1L << i;
+                mapping |= 1L << mix(source * Cube.FACELET_COUNT + i);
+            }
+        }
+
+        CubieCube cube = CubieCube.fromFacelets(facelets);
+        long cycles = 0;
+        int bit = 0;
+        int[] cornerCycles = cycleCounts(cube.cornerPermutation);
+        int[] edgeCycles = cycleCounts(cube.edgePermutation);
+        for (int length = 2; length <= 5; length++) {
+            cycles |= run(cornerCycles[length], 3) << bit;
+            bit += 3;
+            cycles |= run(edgeCycles[length], 4) << bit;
+            bit += 4;
+        }
+        cycles |= run(count(cube.cornerOrientation), CubieCube.CORNER_COUNT) << bit;
+        bit += CubieCube.CORNER_COUNT;
+        cycles |= run(count(cube.edgeOrientation), CubieCube.EDGE_COUNT) << bit;
+
+        long pieces = 0;
+        for (int slot = 0; slot < CubieCube.CORNER_COUNT; slot++) {
+            boolean permuted = cube.getCorner(slot) != slot;
+            boolean twisted = cube.getCornerTwist(slot) != 0;
+            pieces |= pieceBits(slot, slot < LAST_LAYER_CORNERS, permuted, twisted);
+        }
+        for (int slot = 0; slot < CubieCube.EDGE_COUNT; slot++) {
+            boolean permuted = cube.getEdge(slot) != slot;
+            boolean flipped = cube.getEdgeFlip(slot) != 0;
+            pieces |= pieceBits(CubieCube.CORNER_COUNT + slot, slot < LAST_LAYER_EDGES, permuted, flipped);
+        }
+        return new EffectSignature(moved, mapping, cycles, pieces);
+    }
+
+    /**
+     * Counts the bits in which two signatures differ, from 0 for the same effect up to {@link #BITS}. This is a
+     * metric, so signatures can be searched with a {@link EffectIndex}.
+     */
+    public int distance(EffectSignature other) {
+        return Long.bitCount(moved ^ other.moved) + Long.bitCount(mapping ^ other.mapping)
+                + Long.bitCount(cycles ^ other.cycles) + Long.bitCount(pieces ^ other.pieces);
+    }
+
+    /**
+     * Gets the signature as four words, in the order described above.
+     */
+    public long[] toLongArray() {
+        return new long[]{moved, mapping, cycles, pieces};
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof EffectSignature other && distance(other) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Long.hashCode(moved);
+        hash = 31 * hash + Long.hashCode(mapping);
+        hash = 31 * hash + Long.hashCode(cycles);
+        return 31 * hash + Long.hashCode(pieces);
+    }
+
+    /**
+     * Lays out one piece: last-layer pieces get a bit for being moved and one for being reoriented, the 12 others a
+     * single bit for being disturbed at all.
+     */
+    private static long pieceBits(int piece, boolean lastLayer, boolean permuted, boolean reoriented) {
+        int lastLayerPiece = piece < CubieCube.CORNER_COUNT ? piece : piece - CubieCube.CORNER_COUNT + LAST_LAYER_CORNERS;
+        if (lastLayer) {
+            return (permuted ? 1L << 2 * lastLayerPiece : 0) | (reoriented ? 1L << 2 * lastLayerPiece + 1 : 0);
+        }
+        int other = piece < CubieCube.CORNER_COUNT
+                ? piece - LAST_LAYER_CORNERS
+                : piece - CubieCube.CORNER_COUNT - LAST_LAYER_EDGES + LAST_LAYER_CORNERS;
+        return permuted || reoriented ? 1L << 16 + other : 0;
+    }
+
+    private static int[] cycleCounts(byte[] permutation) {
+        int[] counts = new int[permutation.length + 1];
+        boolean[] seen = new boolean[permutation.length];
+        for (int start = 0; start < permutation.length; start++) {
+            int length = 0;
+            for (int i = start; !seen[i]; i = permutation[i]) {
+                seen[i] = true;
+                length++;
+            }
+            counts[length]++;
+        }
+        return counts;
+    }
+
+    private static int count(byte[] orientations) {
+        int count = 0;
+        for (byte orientation : orientations) {
+            if (orientation != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Writes a count as that many set bits, capped at {@code width}.
+     */
+    private static long run(int count, int width) {
+        return (1L << Math.min(count, width)) - 1;
+    }
+
+    private static int mix(int value) {
+        int hash = value * 0x9E3779B9;
+        return hash >>> 26;
+    }
+}
@@ -0,0 +1,55 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+/**
+ * A cube of any size seen as a flat array of sticker colors, which is all that views and {@link Playback} need.
+ * <p>
+ * Facelets are indexed {@code face * size * size + row * size + col} in the U, R, F, D, L, B face order, each
+ * face read row by row as it appears in the unfolded net; a color is the index of the face it belongs to when
+ * solved. Moves are {@link MoveSequence} codes, which every size can play: outer turns move the outer layer,
+ * wide turns the outer two, slices every inner layer and rotations the whole cube.
+ */
+public interface FaceletCube {
+    /**
+     * Gets the number of layers along each edge.
+     */
+    int getSize();
+
+    default int getFaceletCount() {
+        return 6 * getSize() * getSize();
+    }
+
+    byte getFacelet(int index);
+
+    /**
+     * Copies the facelets into a caller-owned buffer.
+     *
+     * @param destination An array of at least {@link #getFaceletCount()} bytes.
+     */
+    void copyFaceletsTo(byte[] destination);
+
+    /**
+     * Overwrites the cube with the given facelets.
+     *
+     * @param facelets {@link #getFaceletCount()} facelet colors.
+     */
+    void setFacelets(byte[] facelets);
+
+    void reset();
+
+    boolean isSolved();
+
+    /**
+     * Applies a move without allocating.
+     *
+     * @param move The move code, see {@link MoveSequence#parseMove(String)}.
+     * @throws IllegalArgumentException if the move has no layer to turn at this size, such as a slice on a 2x2x2.
+     */
+    void applyMove(int move);
+
+    /**
+     * Lists the facelets a move changes, each once. The array is shared and must not be modified.
+     *
+     * @param move The move code.
+     */
+    int[] movedFacelets(int move);
+}
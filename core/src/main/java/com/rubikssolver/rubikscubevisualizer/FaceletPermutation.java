@@ -0,0 +1,139 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+/**
+ * An immutable permutation of the 54 facelets, stored as a gather table: after applying it, facelet {@code i}
+ * holds what was at {@code source[i]}. Any move sequence collapses into one of these, so a whole algorithm can
+ * be applied, undone or checked in a single pass instead of move by move.
+ */
+public final class FaceletPermutation {
+    public static final FaceletPermutation IDENTITY = new FaceletPermutation(identitySource());
+
+    private final byte[] source;
+
+    private FaceletPermutation(byte[] source) {
+        this.source = source;
+    }
+
+    /**
+     * Compiles a move sequence into the single permutation it performs.
+     *
+     * @param sequence The moves to compile.
+     * @return The composite permutation.
+     */
+    public static FaceletPermutation of(MoveSequence sequence) {
+        byte[] composite = identitySource();
+        byte[] next = new byte[Cube.FACELET_COUNT];
+        for (int m = 0; m < sequence.length(); m++) {
+            int[] move = MoveTables.source(sequence.moveAt(m));
+            for (int i = 0; i < Cube.FACELET_COUNT; i++) {
+                next[i] = composite[move[i]];
+            }
+            byte[] swap = composite;
+            composite = next;
+            next = swap;
+        }
+        return new FaceletPermutation(composite);
+    }
+
+    /**
+     * Wraps a gather table that was compiled earlier, such as one read back from an {@link AlgorithmLibrary}.
+     *
+     * @param source The gather table; used as is, not copied.
+     * @throws IllegalArgumentException if it is not a permutation of the 54 facelets.
+     */
+    static FaceletPermutation ofSource(byte[] source) {
+        boolean[] seen = new boolean[Cube.FACELET_COUNT];
+        if (source.length != Cube.FACELET_COUNT) {
+            throw new IllegalArgumentException("Expected " + Cube.FACELET_COUNT + " facelets, got " + source.length);
+        }
+        for (byte index : source) {
+            if (index < 0 || index >= Cube.FACELET_COUNT || seen[index]) {
+                throw new IllegalArgumentException("Not a facelet permutation");
+            }
+            seen[index] = true;
+        }
+        return new FaceletPermutation(source);
+    }
+
+    private static byte[] identitySource() {
+        byte[] source = new byte[Cube.FACELET_COUNT];
+        for (int i = 0; i < source.length; i++) {
+            source[i] = (byte) i;
+        }
+        return source;
+    }
+
+    /**
+     * Gets the facelet whose sticker ends up at the given index.
+     *
+     * @param index The destination facelet.
+     * @return The source facelet.
+     */
+    public int sourceOf(int index) {
+        return source[index];
+    }
+
+    /**
+     * Builds the permutation that undoes this one.
+     *
+     * @return The inverse permutation.
+     */
+    public FaceletPermutation inverse() {
+        byte[] inverse = new byte[Cube.FACELET_COUNT];
+        for (int i = 0; i < Cube.FACELET_COUNT; i++) {
+            inverse[source[i]] = (byte) i;
+        }
+        return new FaceletPermutation(inverse);
+    }
+
+    /**
+     * Builds the permutation that applies this one and then {@code next}.
+     *
+     * @param next The permutation applied second.
+     * @return The composite permutation.
+     */
+    public FaceletPermutation then(FaceletPermutation next) {
+        byte[] composite = new byte[Cube.FACELET_COUNT];
+        for (int i = 0; i < Cube.FACELET_COUNT; i++) {
+            composite[i] = source[next.source[i]];
+        }
+        return new FaceletPermutation(composite);
+    }
+
+    /**
+     * Gathers {@code from} into {@code to}; the arrays must be distinct.
+     *
+     * @param from The facelets before the permutation.
+     * @param to   Receives the facelets after the permutation.
+     */
+    public void apply(byte[] from, byte[] to) {
+        for (int i = 0; i < Cube.FACELET_COUNT; i++) {
+            to[i] = from[source[i]];
+        }
+    }
+
+    /**
+     * Checks whether applying this permutation to the given facelets leaves a solved cube, without
+     * modifying them.
+     *
+     * @param facelets The facelets to check.
+     * @return true if the result would be solved; false otherwise.
+     */
+    public boolean solves(byte[] facelets) {
+        for (int i = 0; i < Cube.FACELET_COUNT; i++) {
+            if (facelets[source[i]] != i / 9) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isIdentity() {
+        for (int i = 0; i < Cube.FACELET_COUNT; i++) {
+            if (source[i] != i) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,270 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Looks up which last-layer algorithm solves a cube, in constant time.
+ * <p>
+ * Each case is reduced to a 64-bit key built from the 20 stickers a U turn moves (the U face around its center
+ * and the top row of each side), 3 bits apiece: {@code 4} for the U color, otherwise which side color the
+ * sticker shows, counted around the cube from the side color of the first such sticker. Counting relative to a sticker rather than to the
+ * centers makes the key the same whichever way the cube was turned with y, and taking the smallest key over the
+ * four U turns makes it the same under AUF. Orientation cases (OLL) only key on which stickers show the U color,
+ * so any permutation of an oriented layer matches. Keys live in a {@link LongIntHashMap} together with the U turn
+ * that produced them, which is how a lookup knows the AUF to do first, and for full cases the side the counting
+ * started from: states that differ only by a U turn after the algorithm share a key, and the difference between
+ * the case's side and the cube's is the U turn still needed after the algorithm.
+ */
+public final class LastLayerIndex {
+    /**
+     * Categories whose algorithms only orient the last layer.
+     */
+    public static final List<String> ORIENTATION_CATEGORIES = List.of("OLL");
+
+    private static final int STICKERS = 20;
+    private static final int U_COLOR = 4;
+    private static final int NOT_FOUND = -1;
+    private static final int U_TURN = MoveSequence.parseMove("U");
+
+    /**
+     * The last-layer sticker positions: every facelet a U turn moves.
+     */
+    private static final int[] STICKER_POSITIONS = new int[STICKERS];
+    private static final boolean[] IN_LAST_LAYER = new boolean[Cube.FACELET_COUNT];
+
+    /**
+     * The side faces in the order a U turn carries stickers between them.
+     */
+    private static final int[] SIDE_ORDER = new int[4];
+
+    static {
+        int[] source = MoveTables.source(U_TURN);
+        int count = 0;
+        for (int i = 0; i < Cube.FACELET_COUNT; i++) {
+            if (source[i] != i) {
+                STICKER_POSITIONS[count++] = i;
+                IN_LAST_LAYER[i] = true;
+            }
+        }
+
+        int face = Cube.F;
+        for (int i = 0; i < SIDE_ORDER.length; i++) {
+            SIDE_ORDER[i] = face;
+            int top = face * 9 + 1;
+            for (int j = 0; j < Cube.FACELET_COUNT; j++) {
+                if (source[j] == top) {
+                    face = j / 9;
+                }
+            }
+        }
+    }
+
+    private static final class Holder {
+        static final LastLayerIndex SHARED = fromLibrary();
+    }
+
+    private final List<Algorithm> algorithms = new ArrayList<>();
+    private final List<String> categories = new ArrayList<>();
+    private final LongIntHashMap permutationCases;
+    private final LongIntHashMap orientationCases;
+
+    /**
+     * Creates an empty index sized for about {@code expectedCases} cases; it grows past that if needed.
+     */
+    public LastLayerIndex(int expectedCases) {
+        permutationCases = new LongIntHashMap(expectedCases);
+        orientationCases = new LongIntHashMap(expectedCases);
+    }
+
+    /**
+     * Gets the index of every algorithm in {@link AlgorithmFactory}, building it on first use.
+     */
+    public static LastLayerIndex shared() {
+        return Holder.SHARED;
+    }
+
+    /**
+     * Builds an index of every algorithm in {@link AlgorithmFactory}, by category.
+     */
+    public static LastLayerIndex fromLibrary() {
+        TreeNode root = AlgorithmFactory.getAlgorithmTree();
+        LastLayerIndex index = new LastLayerIndex(AlgorithmFactory.getAllAlgorithmNames().size());
+        for (TreeNode category : root.getChildren()) {
+            for (TreeNode node : category.getChildren()) {
+                Algorithm algorithm = AlgorithmFactory.getAlgorithm(node.getName());
+                if (algorithm != null) {
+                    index.add(category.getName(), algorithm);
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Adds the case an algorithm solves. A case already present keeps its first algorithm.
+     *
+     * @param category  The category, which decides whether the case is keyed on orientation only.
+     * @param algorithm The algorithm.
+     * @return Whether the case was new.
+     * @throws IllegalArgumentException if the algorithm disturbs more than the last layer.
+     */
+    public boolean add(String category, Algorithm algorithm) {
+        byte[] preState = new byte[Cube.FACELET_COUNT];
+        FaceletPermutation inverse = algorithm.getInversePermutation();
+        for (int i = 0; i < Cube.FACELET_COUNT; i++) {
+            preState[i] = (byte) (inverse.sourceOf(i) / 9);
+        }
+
+        boolean orientationOnly = ORIENTATION_CATEGORIES.contains(category);
+        long key = canonicalKey(preState, orientationOnly);
+        if (key < 0) {
+            throw new IllegalArgumentException("Not a last-layer algorithm: " + algorithm.getName());
+        }
+
+        int turns = (int) (key & 3);
+        int offset = orientationOnly ? 0 : referenceSide(preState, turns);
+        int value = algorithms.size() * 16 + offset * 4 + turns;
+        LongIntHashMap cases = orientationOnly ? orientationCases : permutationCases;
+        if (!cases.putIfAbsent(key >>> 2, value)) {
+            return false;
+        }
+        algorithms.add(algorithm);
+        categories.add(category);
+        return true;
+    }
+
+    public int size() {
+        return algorithms.size();
+    }
+
+    /**
+     * Finds the algorithm for the cube's last layer, preferring a full case over an orientation-only one.
+     *
+     * @param cube The cube, with everything but the last layer solved.
+     * @return The match, or null if the first two layers are not solved or no case fits.
+     */
+    public LastLayerMatch recognize(Cube cube) {
+        byte[] facelets = new byte[Cube.FACELET_COUNT];
+        cube.copyFaceletsTo(facelets);
+        return recognize(facelets);
+    }
+
+    /**
+     * Finds the algorithm for a last layer given as facelets.
+     *
+     * @see #recognize(Cube)
+     */
+    public LastLayerMatch recognize(byte[] facelets) {
+        long permutationKey = canonicalKey(facelets, false);
+        if (permutationKey < 0) {
+            return null;
+        }
+        LastLayerMatch match = lookup(permutationCases, permutationKey, facelets);
+        if (match == null) {
+            match = lookup(orientationCases, canonicalKey(facelets, true), null);
+        }
+        return match;
+    }
+
+    /**
+     * Looks up a case by its canonical key.
+     *
+     * @param facelets The cube, to work out the U turn after the algorithm; null for orientation cases, which
+     *                 need none.
+     */
+    private LastLayerMatch lookup(LongIntHashMap cases, long key, byte[] facelets) {
+        int value = cases.get(key >>> 2, NOT_FOUND);
+        if (value == NOT_FOUND) {
+            return null;
+        }
+        int caseIndex = value / 16;
+        int turns = (int) (key & 3);
+        int auf = (turns - (value & 3)) & 3;
+        int postAuf = facelets == null ? 0 : (referenceSide(facelets, turns) - (value >>> 2 & 3)) & 3;
+        return new LastLayerMatch(algorithms.get(caseIndex), categories.get(caseIndex), auf, postAuf);
+    }
+
+    /**
+     * Builds the smallest key over the four U turns of a state.
+     *
+     * @return The key shifted left by two, with the number of quarter U turns that produced it in the low bits,
+     * or -1 if the first two layers are not solved.
+     */
+    static long canonicalKey(byte[] facelets, boolean orientationOnly) {
+        int uColor = facelets[Cube.U * 9 + 4];
+        int[] sideOfColor = {-1, -1, -1, -1, -1, -1};
+        for (int side = 0; side < SIDE_ORDER.length; side++) {
+            sideOfColor[facelets[SIDE_ORDER[side] * 9 + 4]] = side;
+        }
+        for (int i = 0; i < Cube.FACELET_COUNT; i++) {
+            if (!IN_LAST_LAYER[i] && facelets[i] != facelets[i / 9 * 9 + 4]) {
+                return -1;
+            }
+        }
+
+        byte[] turned = facelets.clone();
+        long best = Long.MAX_VALUE;
+        for (int turns = 0; turns < 4; turns++) {
+            long key = orientationOnly ? orientationKey(turned, uColor) : permutationKey(turned, uColor, sideOfColor);
+            if (key < 0) {
+                return -1;
+            }
+            best = Math.min(best, key << 2 | turns);
+            MoveTables.apply(turned, U_TURN);
+        }
+        return best;
+    }
+
+    /**
+     * Finds the side the permutation key of a state counts from after {@code turns} U turns: the side whose color
+     * the first last-layer sticker not showing the U color carries.
+     */
+    private static int referenceSide(byte[] facelets, int turns) {
+        byte[] turned = facelets.clone();
+        for (int i = 0; i < turns; i++) {
+            MoveTables.apply(turned, U_TURN);
+        }
+        int uColor = turned[Cube.U * 9 + 4];
+        for (int position : STICKER_POSITIONS) {
+            int color = turned[position];
+            if (color != uColor) {
+                for (int side = 0; side < SIDE_ORDER.length; side++) {
+                    if (turned[SIDE_ORDER[side] * 9 + 4] == color) {
+                        return side;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static long orientationKey(byte[] facelets, int uColor) {
+        long key = 0;
+        for (int position : STICKER_POSITIONS) {
+            key = key << 1 | (facelets[position] == uColor ? 1 : 0);
+        }
+        return key;
+    }
+
+    private static long permutationKey(byte[] facelets, int uColor, int[] sideOfColor) {
+        long key = 0;
+        int reference = -1;
+        for (int position : STICKER_POSITIONS) {
+            int color = facelets[position];
+            int code;
+            if (color == uColor) {
+                code = U_COLOR;
+            } else if (sideOfColor[color] < 0) {
+                return -1;
+            } else {
+                if (reference < 0) {
+                    reference = sideOfColor[color];
+                }
+                code = (sideOfColor[color] - reference) & 3;
+            }
+            key = key << 3 | code;
+        }
+        return key;
+    }
+}
@@ -0,0 +1,79 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+/**
+ * A last-layer case recognized by {@link LastLayerIndex}: the algorithm to run and the U turns to do before and
+ * after it.
+ */
+public final class LastLayerMatch {
+    private final Algorithm algorithm;
+    private final String category;
+    private final int auf;
+    private final int postAuf;
+
+    LastLayerMatch(Algorithm algorithm, String category, int auf, int postAuf) {
+        this.algorithm = algorithm;
+        this.category = category;
+        this.auf = auf;
+        this.postAuf = postAuf;
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * Gets the adjustment of the U face needed before the algorithm, in clockwise quarter turns from 0 to 3.
+     */
+    public int getAuf() {
+        return auf;
+    }
+
+    /**
+     * Gets the adjustment of the U face needed after the algorithm to solve the cube, in clockwise quarter turns
+     * from 0 to 3; always 0 for orientation cases, which leave the layer unpermuted anyway.
+     */
+    public int getPostAuf() {
+        return postAuf;
+    }
+
+    /**
+     * Gets the adjustment of the U face as moves: nothing, U, U2 or U'.
+     */
+    public MoveSequence getAufMoves() {
+        return uTurns(auf);
+    }
+
+    /**
+     * Gets the adjustment after the algorithm as moves: nothing, U, U2 or U'.
+     */
+    public MoveSequence getPostAufMoves() {
+        return uTurns(postAuf);
+    }
+
+    /**
+     * Gets the full sequence to run: the adjustment, the algorithm and the adjustment after it, simplified so
+     * an adjustment that the algorithm starts or ends by undoing is merged away.
+     */
+    public MoveSequence getSequence() {
+        return MoveSimplifier.simplify(getAufMoves().then(algorithm.getSequence()).then(getPostAufMoves()));
+    }
+
+    @Override
+    public String toString() {
+        return category + " " + algorithm.getName() + (auf == 0 ? "" : " after " + getAufMoves())
+                + (postAuf == 0 ? "" : " then " + getPostAufMoves());
+    }
+
+    private static MoveSequence uTurns(int quarterTurns) {
+        return switch (quarterTurns) {
+            case 0 -> MoveSequence.EMPTY;
+            case 1 -> MoveSequence.parse("U");
+            case 2 -> MoveSequence.parse("U2");
+            default -> MoveSequence.parse("U'");
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size, thread-safe histogram of durations in nanoseconds for percentile reporting over millions of
+ * samples. Buckets are log-linear: each power of two is split into {@link #SUB_BUCKETS} equal parts, so any
+ * reported value is within about 3% of the true one.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray((64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS);
+    private final AtomicLongArray totals = new AtomicLongArray(2);
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        totals.incrementAndGet(0);
+        totals.addAndGet(1, value);
+    }
+
+    public long count() {
+        return totals.get(0);
+    }
+
+    public double mean() {
+        long count = count();
+        return count == 0 ? 0 : (double) totals.get(1) / count;
+    }
+
+    /**
+     * Gets the value at or below which the given fraction of the samples fall.
+     *
+     * @param fraction Between 0 and 1, e.g. 0.99 for the 99th percentile.
+     * @return The upper edge of the bucket holding that sample, or 0 if nothing was recorded.
+     */
+    public long percentile(double fraction) {
+        long count = count();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length(); bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return upperEdge(bucket);
+            }
+        }
+        return upperEdge(counts.length() - 1);
+    }
+
+    /**
+     * Values below {@code 2 * SUB_BUCKETS} get a bucket each; above that, a value keeps its top
+     * {@code SUB_BUCKET_BITS + 1} bits and the bucket is picked by those and the number of bits dropped.
+     */
+    private static int bucketOf(long value) {
+        int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    private static long upperEdge(int bucket) {
+        int shift = Math.max(0, bucket / SUB_BUCKETS - 1);
+        long lowest = (long) (bucket - shift * SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
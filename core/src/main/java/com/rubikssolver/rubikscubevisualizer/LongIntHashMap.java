@@ -0,0 +1,98 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash map from non-negative long keys to int values, with linear probing over two flat
+ * arrays, so lookups neither box nor chase pointers.
+ */
+final class LongIntHashMap {
+    private static final long EMPTY = -1;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Gets the value stored for a key.
+     *
+     * @return The value, or {@code missing} if the key is not present.
+     */
+    int get(long key, int missing) {
+        int mask = keys.length - 1;
+        for (int slot = slotOf(key, mask); ; slot = (slot + 1) & mask) {
+            long stored = keys[slot];
+            if (stored == key) {
+                return values[slot];
+            }
+            if (stored == EMPTY) {
+                return missing;
+            }
+        }
+    }
+
+    /**
+     * Stores a value unless the key is already present.
+     *
+     * @return Whether the value was stored.
+     */
+    boolean putIfAbsent(long key, int value) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Keys must be non-negative: " + key);
+        }
+        if (2 * (size + 1) > keys.length) {
+            resize();
+        }
+        int mask = keys.length - 1;
+        for (int slot = slotOf(key, mask); ; slot = (slot + 1) & mask) {
+            long stored = keys[slot];
+            if (stored == key) {
+                return false;
+            }
+            if (stored == EMPTY) {
+                keys[slot] = key;
+                values[slot] = value;
+                size++;
+                return true;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                putIfAbsent(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     * Spreads the key bits with the MurmurHash3 finalizer, since canonical cube keys differ mostly in high bits.
+     */
+    private static int slotOf(long key, int mask) {
+        long hash = key;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return (int) hash & mask;
+    }
+}
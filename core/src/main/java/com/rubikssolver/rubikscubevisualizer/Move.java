@@ -4,11 +4,20 @@ public class Move {
     private final String name;
     private final String sequence;
     private final String category;
+    private final MoveSequence moveSequence;
 
     public Move(String name, String sequence, String category) {
         this.name = name;
         this.sequence = sequence;
         this.category = category;
+        this.moveSequence = MoveSequence.parse(sequence);
+    }
+
+    public Move(String name, MoveSequence moveSequence, String category) {
+        this.name = name;
+        this.sequence = moveSequence.toString();
+        this.category = category;
+        this.moveSequence = moveSequence;
     }
 
     public String getName() {
@@ -23,6 +32,10 @@ public class Move {
         return category;
     }
 
+    public MoveSequence getMoveSequence() {
+        return moveSequence;
+    }
+
     @Override
     public String toString() {
         return name;
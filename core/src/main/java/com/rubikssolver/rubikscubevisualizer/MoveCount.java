@@ -0,0 +1,43 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+/**
+ * The length of a move sequence in the three usual metrics. Rotations are free in all of them.
+ *
+ * @param htm Half-turn metric: any turn of an outer layer counts one, a slice counts two.
+ * @param qtm Quarter-turn metric: a half turn counts twice as much as a quarter turn, a slice twice a face turn.
+ * @param stm Slice-turn metric: any turn of any layer counts one.
+ */
+public record MoveCount(int htm, int qtm, int stm) {
+    public static final MoveCount ZERO = new MoveCount(0, 0, 0);
+
+    /**
+     * Counts the moves of a sequence.
+     */
+    public static MoveCount of(MoveSequence sequence) {
+        int htm = 0;
+        int qtm = 0;
+        int stm = 0;
+        for (int i = 0; i < sequence.length(); i++) {
+            int move = sequence.moveAt(i);
+            int base = move / 3;
+            if (base >= MoveTables.ROTATION_BASE) {
+                continue;
+            }
+            int quarters = move % 3 == 1 ? 2 : 1;
+            int layers = base >= MoveTables.SLICE_BASE ? 2 : 1;
+            htm += layers;
+            qtm += quarters * layers;
+            stm++;
+        }
+        return new MoveCount(htm, qtm, stm);
+    }
+
+    public MoveCount plus(MoveCount other) {
+        return new MoveCount(htm + other.htm, qtm + other.qtm, stm + other.stm);
+    }
+
+    @Override
+    public String toString() {
+        return htm + " HTM, " + qtm + " QTM, " + stm + " STM";
+    }
+}
@@ -0,0 +1,114 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class MoveGraph {
+    private static final int MIN_SHARED_SUBSEQUENCE_LENGTH = 5;
+    private final Map<Move, Set<Move>> graph = new LinkedHashMap<>();
+    private final SharedRunIndex index = new SharedRunIndex();
+    private final List<Move> moves = new ArrayList<>();
+    private final Map<Move, Integer> ids = new HashMap<>();
+
+    public MoveGraph() {
+        this(defaultMoves());
+    }
+
+    /**
+     * Builds the similarity graph over a custom set of algorithms.
+     *
+     * @param allMoves The algorithms to link.
+     */
+    public MoveGraph(List<Move> allMoves) {
+        initializeGraph(allMoves);
+    }
+
+    /**
+     * Gets every algorithm in {@link AlgorithmFactory}, under the same names and categories.
+     */
+    private static List<Move> defaultMoves() {
+        List<Move> moves = new ArrayList<>();
+        for (String name : AlgorithmFactory.getAllAlgorithmNames()) {
+            Algorithm algorithm = AlgorithmFactory.getAlgorithm(name);
+            moves.add(new Move(name, algorithm.getSequence(), AlgorithmFactory.getCategory(name)));
+        }
+        return moves;
+    }
+
+    private void initializeGraph(List<Move> allMoves) {
+        allMoves.forEach(this::addMove);
+    }
+
+    /**
+     * Adds an algorithm and links it both ways to every algorithm of the same category that shares a run of at
+     * least {@value #MIN_SHARED_SUBSEQUENCE_LENGTH} moves with it. Only the algorithms sharing a run are looked
+     * at, so adding one costs about the same however large the graph is.
+     *
+     * @param move The algorithm to add; adding one already in the graph does nothing.
+     */
+    public void addMove(Move move) {
+        if (graph.putIfAbsent(move, new LinkedHashSet<>()) != null) {
+            return;
+        }
+        int id = index.add(move.getMoveSequence());
+        moves.add(move);
+        ids.put(move, id);
+        for (Move other : similarMoves(id, MIN_SHARED_SUBSEQUENCE_LENGTH)) {
+            graph.get(move).add(other);
+            graph.get(other).add(move);
+        }
+    }
+
+    /**
+     * Finds the algorithms of the same category that share a run of at least {@code minLength} moves with the
+     * given one.
+     *
+     * @param move      An algorithm in the graph.
+     * @param minLength The shortest shared run that counts.
+     * @return The similar algorithms, in the order they were added.
+     */
+    public List<Move> getSimilarMoves(Move move, int minLength) {
+        Integer id = ids.get(move);
+        if (id == null) {
+            throw new IllegalArgumentException("Not in the graph: " + move);
+        }
+        return similarMoves(id, minLength);
+    }
+
+    private List<Move> similarMoves(int id, int minLength) {
+        Move move = moves.get(id);
+        List<Move> similar = new ArrayList<>();
+        for (int match : index.matches(id, minLength)) {
+            Move other = moves.get(match);
+            if (other.getCategory().equals(move.getCategory())) {
+                similar.add(other);
+            }
+        }
+        return similar;
+    }
+
+    /**
+     * Gets the graph containing moves and their relationships, as the set of neighbors of every move.
+     *
+     * @return An unmodifiable view of the adjacency map, in the order the moves were added.
+     */
+    public Map<Move, Set<Move>> getGraph() {
+        return Collections.unmodifiableMap(graph);
+    }
+
+    /**
+     * Gets the algorithms linked to the given one.
+     *
+     * @return An unmodifiable view of its neighbors, or an empty set if it is not in the graph.
+     */
+    public Set<Move> getNeighbors(Move move) {
+        Set<Move> neighbors = graph.get(move);
+        return neighbors == null ? Set.of() : Collections.unmodifiableSet(neighbors);
+    }
+}
\ No newline at end of file
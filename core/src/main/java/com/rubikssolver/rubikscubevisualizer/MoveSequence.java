@@ -0,0 +1,254 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable, compiled sequence of moves. Each move is stored as a one-byte move code (see {@link MoveTables}),
+ * so notation is parsed once and replaying, inverting or comparing sequences only touches integers.
+ * <p>
+ * Supported notation: face turns {@code U R F D L B}, wide turns {@code u r f d l b} or {@code Uw Rw ...},
+ * slices {@code M E S} and rotations {@code x y z}, each optionally followed by {@code 2} or {@code '}.
+ */
+public final class MoveSequence {
+    public static final MoveSequence EMPTY = new MoveSequence(new byte[0]);
+
+    /**
+     * The number of move codes; every code is below this.
+     */
+    public static final int MOVE_COUNT = MoveTables.MOVE_COUNT;
+
+    private static final String[] BASE_NAMES = {
+            "U", "R", "F", "D", "L", "B",
+            "Uw", "Rw", "Fw", "Dw", "Lw", "Bw",
+            "M", "E", "S",
+            "x", "y", "z"
+    };
+    private static final String[] MOVE_NAMES = new String[MoveTables.MOVE_COUNT];
+
+    static {
+        String[] suffixes = {"", "2", "'"};
+        for (int move = 0; move < MoveTables.MOVE_COUNT; move++) {
+            MOVE_NAMES[move] = BASE_NAMES[move / 3] + suffixes[move % 3];
+        }
+    }
+
+    private final byte[] moves;
+
+    private MoveSequence(byte[] moves) {
+        this.moves = moves;
+    }
+
+    /**
+     * Parses space-separated move notation, e.g. {@code "R U2 R' Rw M x'"}.
+     *
+     * @param notation The moves to parse.
+     * @return The compiled sequence.
+     */
+    public static MoveSequence parse(String notation) {
+        String trimmed = notation.trim();
+        if (trimmed.isEmpty()) {
+            return EMPTY;
+        }
+        return of(Arrays.asList(trimmed.split("\\s+")));
+    }
+
+    /**
+     * Compiles a list of individual move tokens.
+     *
+     * @param tokens The moves, one token per entry.
+     * @return The compiled sequence.
+     */
+    public static MoveSequence of(List<String> tokens) {
+        byte[] moves = new byte[tokens.size()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = (byte) parseMove(tokens.get(i));
+        }
+        return new MoveSequence(moves);
+    }
+
+    /**
+     * Wraps move codes produced by other code, such as a solver.
+     *
+     * @param codes The move codes; the array is copied.
+     * @return The sequence.
+     */
+    public static MoveSequence ofCodes(byte[] codes) {
+        return ofCodes(codes, 0, codes.length);
+    }
+
+    /**
+     * Wraps part of an array of move codes, such as one of many sequences packed back to back.
+     *
+     * @param codes  The move codes; the range is copied.
+     * @param offset The index of the first move.
+     * @param length The number of moves.
+     * @return The sequence.
+     */
+    public static MoveSequence ofCodes(byte[] codes, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (codes[i] < 0 || codes[i] >= MoveTables.MOVE_COUNT) {
+                throw new IllegalArgumentException("Invalid move code: " + codes[i]);
+            }
+        }
+        return new MoveSequence(Arrays.copyOfRange(codes, offset, offset + length));
+    }
+
+    /**
+     * Parses a single move token.
+     *
+     * @param token The move, e.g. {@code "R'"} or {@code "Uw2"}.
+     * @return The move code.
+     */
+    public static int parseMove(String token) {
+        int length = token.length();
+        if (length == 0) {
+            throw new IllegalArgumentException("Invalid move: " + token);
+        }
+
+        char letter = token.charAt(0);
+        int base = switch (letter) {
+            case 'U' -> Cube.U;
+            case 'R' -> Cube.R;
+            case 'F' -> Cube.F;
+            case 'D' -> Cube.D;
+            case 'L' -> Cube.L;
+            case 'B' -> Cube.B;
+            case 'u' -> MoveTables.WIDE_BASE + Cube.U;
+            case 'r' -> MoveTables.WIDE_BASE + Cube.R;
+            case 'f' -> MoveTables.WIDE_BASE + Cube.F;
+            case 'd' -> MoveTables.WIDE_BASE + Cube.D;
+            case 'l' -> MoveTables.WIDE_BASE + Cube.L;
+            case 'b' -> MoveTables.WIDE_BASE + Cube.B;
+            case 'M' -> MoveTables.SLICE_BASE;
+            case 'E' -> MoveTables.SLICE_BASE + 1;
+            case 'S' -> MoveTables.SLICE_BASE + 2;
+            case 'x' -> MoveTables.ROTATION_BASE;
+            case 'y' -> MoveTables.ROTATION_BASE + 1;
+            case 'z' -> MoveTables.ROTATION_BASE + 2;
+            default -> throw new IllegalArgumentException("Invalid move: " + token);
+        };
+
+        int index = 1;
+        if (index < length && token.charAt(index) == 'w' && base < MoveTables.WIDE_BASE) {
+            base += MoveTables.WIDE_BASE;
+            index++;
+        }
+
+        int power = 1;
+        if (index < length && token.charAt(index) == '2') {
+            power = 2;
+            index++;
+        }
+        if (index < length && token.charAt(index) == '\'') {
+            power = power == 2 ? 2 : 3;
+            index++;
+        }
+        if (index != length) {
+            throw new IllegalArgumentException("Invalid move: " + token);
+        }
+        return base * 3 + power - 1;
+    }
+
+    /**
+     * Gets the notation of a move code.
+     *
+     * @param move The move code.
+     * @return The move in standard notation.
+     */
+    public static String moveName(int move) {
+        return MOVE_NAMES[move];
+    }
+
+    /**
+     * Gets the code of the move that undoes the given one.
+     *
+     * @param move The move code.
+     * @return The inverse move code.
+     */
+    public static int inverseMove(int move) {
+        return move - move % 3 + 2 - move % 3;
+    }
+
+    /**
+     * Lists the facelets a move changes, in the layout described by {@link Cube#getFacelet(int)}, so a view of
+     * the cube can update only those.
+     *
+     * @param move The move code.
+     * @return A new array holding each changed facelet index once.
+     */
+    public static int[] movedFacelets(int move) {
+        return MoveTables.movedFacelets(move).clone();
+    }
+
+    public int length() {
+        return moves.length;
+    }
+
+    public int moveAt(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Builds the sequence that undoes this one.
+     *
+     * @return The moves in reverse order, each inverted.
+     */
+    public MoveSequence inverse() {
+        byte[] inverse = new byte[moves.length];
+        for (int i = 0; i < moves.length; i++) {
+            inverse[i] = (byte) inverseMove(moves[moves.length - 1 - i]);
+        }
+        return new MoveSequence(inverse);
+    }
+
+    /**
+     * Builds the sequence that performs this one and then {@code next}.
+     *
+     * @param next The moves to append.
+     * @return The concatenation.
+     */
+    public MoveSequence then(MoveSequence next) {
+        byte[] joined = Arrays.copyOf(moves, moves.length + next.moves.length);
+        System.arraycopy(next.moves, 0, joined, moves.length, next.moves.length);
+        return new MoveSequence(joined);
+    }
+
+    /**
+     * Copies the move codes.
+     *
+     * @return A new array holding one move code per move.
+     */
+    public byte[] toCodes() {
+        return moves.clone();
+    }
+
+    /**
+     * Lists the moves in notation form.
+     *
+     * @return An unmodifiable list with one token per move.
+     */
+    public List<String> toNotation() {
+        List<String> tokens = new ArrayList<>(moves.length);
+        for (byte move : moves) {
+            tokens.add(MOVE_NAMES[move]);
+        }
+        return List.copyOf(tokens);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof MoveSequence other && Arrays.equals(moves, other.moves);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(moves);
+    }
+
+    @Override
+    public String toString() {
+        return String.join(" ", toNotation());
+    }
+}
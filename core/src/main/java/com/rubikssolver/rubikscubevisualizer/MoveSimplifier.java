@@ -0,0 +1,81 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.util.Arrays;
+
+/**
+ * Rewrites a move sequence into the shortest form that differs from it only by commuting and merging turns.
+ * <p>
+ * Turns about the same axis commute, so every maximal run of them (say {@code U D' y U}) is reduced to at most one
+ * turn per layer, with the quarter turns of each layer added up modulo four: a run that adds up to nothing is
+ * dropped, which may join the runs on either side of it into one. The turns left in a run are written in a fixed
+ * order (outer faces first, U before D, R before L, F before B, then wide turns, slices and rotations), so two
+ * sequences that only order commuting turns differently simplify to the same thing. Turns about different axes are
+ * never reordered, so the result always has the same effect as the input.
+ */
+public final class MoveSimplifier {
+    private static final int BASE_COUNT = MoveTables.MOVE_COUNT / 3;
+
+    /**
+     * The axis of each move base: 0 for U/D, 1 for R/L, 2 for F/B.
+     */
+    private static final int[] AXIS = {
+            0, 1, 2, 0, 1, 2,
+            0, 1, 2, 0, 1, 2,
+            1, 0, 2,
+            1, 0, 2
+    };
+
+    private MoveSimplifier() {
+    }
+
+    /**
+     * Simplifies a sequence.
+     *
+     * @param sequence The moves to simplify.
+     * @return The simplified moves, or {@code sequence} itself if it cannot be shortened or reordered.
+     */
+    public static MoveSequence simplify(MoveSequence sequence) {
+        int length = sequence.length();
+        // A stack of runs: the axis of each run and the quarter turns of every base in it.
+        int[] axes = new int[length];
+        byte[] quarters = new byte[length * BASE_COUNT];
+        int[] turnCounts = new int[length];
+        int runs = 0;
+
+        for (int i = 0; i < length; i++) {
+            int move = sequence.moveAt(i);
+            int base = move / 3;
+            int axis = AXIS[base];
+            if (runs == 0 || axes[runs - 1] != axis) {
+                axes[runs] = axis;
+                turnCounts[runs] = 0;
+                runs++;
+            }
+
+            int run = runs - 1;
+            int slot = run * BASE_COUNT + base;
+            int before = quarters[slot];
+            int after = (before + move % 3 + 1) & 3;
+            quarters[slot] = (byte) after;
+            turnCounts[run] += (after != 0 ? 1 : 0) - (before != 0 ? 1 : 0);
+            if (turnCounts[run] == 0) {
+                quarters[slot] = 0;
+                runs--;
+            }
+        }
+
+        byte[] codes = new byte[length];
+        int size = 0;
+        for (int run = 0; run < runs; run++) {
+            for (int base = 0; base < BASE_COUNT; base++) {
+                int turns = quarters[run * BASE_COUNT + base];
+                if (turns != 0) {
+                    codes[size++] = (byte) (base * 3 + turns - 1);
+                }
+            }
+        }
+
+        MoveSequence simplified = MoveSequence.ofCodes(Arrays.copyOf(codes, size));
+        return simplified.equals(sequence) ? sequence : simplified;
+    }
+}
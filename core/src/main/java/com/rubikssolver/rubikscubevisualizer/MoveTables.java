@@ -0,0 +1,239 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+/**
+ * Precomputed facelet permutations for the moves understood by {@link Cube}.
+ * <p>
+ * Facelets are numbered {@code face * 9 + row * 3 + col} in the U, R, F, D, L, B face order used by
+ * {@link Cube}, with each face read row by row as it appears in the unfolded net drawn by {@link Visualizer}.
+ * Move codes come in groups of three, {@code base * 3 + power - 1}, where power 1 is a clockwise quarter turn,
+ * 2 a half turn and 3 a counter-clockwise quarter turn. Bases 0-5 are the outer face turns U, R, F, D, L, B,
+ * bases 6-11 the matching two-layer wide turns, 12-14 the slices M, E, S (turning like L, D and F) and
+ * 15-17 the whole-cube rotations x, y, z (turning like R, U and F).
+ * <p>
+ * Every move is stored twice: as a gather table ({@code new[i] = old[source[i]]}) for composing whole
+ * permutations, and as a list of sticker cycles so a single move can be applied in place without allocating.
+ */
+final class MoveTables {
+    static final int FACELET_COUNT = 54;
+    static final int FACE_MOVE_COUNT = 18;
+    static final int MOVE_COUNT = 54;
+
+    static final int WIDE_BASE = 6;
+    static final int SLICE_BASE = 12;
+    static final int ROTATION_BASE = 15;
+
+    private static final int SIZE = 3;
+
+    private static final int[][] SOURCE = new int[MOVE_COUNT][];
+    private static final int[][] CYCLES = new int[MOVE_COUNT][];
+    private static final int[] CYCLE_LENGTH = new int[MOVE_COUNT];
+
+    static {
+        int[][] positions = positions();
+        int[] sliceFaces = {Cube.L, Cube.D, Cube.F};
+        int[] rotationFaces = {Cube.R, Cube.U, Cube.F};
+        for (int face = 0; face < 6; face++) {
+            addTurns(face, quarterTurnSource(positions, face, SIZE - 1, SIZE));
+            addTurns(WIDE_BASE + face, quarterTurnSource(positions, face, 0, SIZE));
+        }
+        for (int i = 0; i < 3; i++) {
+            addTurns(SLICE_BASE + i, quarterTurnSource(positions, sliceFaces[i], 0, 0));
+            addTurns(ROTATION_BASE + i, quarterTurnSource(positions, rotationFaces[i], -SIZE, SIZE));
+        }
+    }
+
+    private MoveTables() {
+    }
+
+    private static void addTurns(int base, int[] quarter) {
+        int[] source = quarter;
+        for (int power = 1; power <= 3; power++) {
+            int move = base * 3 + power - 1;
+            SOURCE[move] = source;
+            CYCLE_LENGTH[move] = power == 2 ? 2 : 4;
+            CYCLES[move] = cycles(source, CYCLE_LENGTH[move]);
+            source = compose(source, quarter);
+        }
+    }
+
+    /**
+     * Applies a move to a facelet array in place.
+     *
+     * @param facelets The 54 facelets to permute.
+     * @param move     The move code.
+     */
+    static void apply(byte[] facelets, int move) {
+        int[] cycles = CYCLES[move];
+        if (CYCLE_LENGTH[move] == 4) {
+            for (int i = 0; i < cycles.length; i += 4) {
+                byte last = facelets[cycles[i + 3]];
+                facelets[cycles[i + 3]] = facelets[cycles[i + 2]];
+                facelets[cycles[i + 2]] = facelets[cycles[i + 1]];
+                facelets[cycles[i + 1]] = facelets[cycles[i]];
+                facelets[cycles[i]] = last;
+            }
+        } else {
+            for (int i = 0; i < cycles.length; i += 2) {
+                byte first = facelets[cycles[i]];
+                facelets[cycles[i]] = facelets[cycles[i + 1]];
+                facelets[cycles[i + 1]] = first;
+            }
+        }
+    }
+
+    /**
+     * Gets the gather table of a move: after the move, facelet {@code i} holds what was at {@code source[i]}.
+     * The returned array is shared and must not be modified.
+     *
+     * @param move The move code.
+     * @return The gather table of the move.
+     */
+    static int[] source(int move) {
+        return SOURCE[move];
+    }
+
+    /**
+     * Lists the facelets a move changes, each once. The array is shared and must not be modified.
+     */
+    static int[] movedFacelets(int move) {
+        return CYCLES[move];
+    }
+
+    /**
+     * Builds the gather table of the mirror image through the plane between L and R, which swaps those two faces
+     * and mirrors the other four. It is not a move and has no code; {@link Symmetry} combines it with
+     * the rotations.
+     */
+    static int[] mirrorSource() {
+        int[][] positions = positions();
+        int[] source = new int[FACELET_COUNT];
+        for (int i = 0; i < FACELET_COUNT; i++) {
+            int[] p = positions[i];
+            source[indexOf(positions, new int[]{-p[0], p[1], p[2]})] = i;
+        }
+        return source;
+    }
+
+    /**
+     * Composes two gather tables into one that applies {@code first} and then {@code second}.
+     *
+     * @param first  The permutation applied first.
+     * @param second The permutation applied second.
+     * @return The composite gather table.
+     */
+    static int[] compose(int[] first, int[] second) {
+        int[] result = new int[FACELET_COUNT];
+        for (int i = 0; i < FACELET_COUNT; i++) {
+            result[i] = first[second[i]];
+        }
+        return result;
+    }
+
+    private static int[][] positions() {
+        int[][] positions = new int[FACELET_COUNT][];
+        for (int i = 0; i < FACELET_COUNT; i++) {
+            positions[i] = position(i / 9, (i % 9) / 3, i % 3);
+        }
+        return positions;
+    }
+
+    /**
+     * Gets the position of a facelet center in doubled integer coordinates: x points to R, y to U and z to F,
+     * cubie centers lie on -2, 0 and 2 and the sticker planes on -3 and 3.
+     */
+    private static int[] position(int face, int row, int col) {
+        int max = SIZE - 1;
+        int across = 2 * col - max;
+        int down = max - 2 * row;
+        return switch (face) {
+            case Cube.U -> new int[]{across, SIZE, -down};
+            case Cube.R -> new int[]{SIZE, down, -across};
+            case Cube.F -> new int[]{across, down, SIZE};
+            case Cube.D -> new int[]{across, -SIZE, down};
+            case Cube.L -> new int[]{-SIZE, down, across};
+            case Cube.B -> new int[]{-across, down, -SIZE};
+            default -> throw new IllegalArgumentException("Invalid face index: " + face);
+        };
+    }
+
+    /**
+     * Builds the gather table of a quarter turn that is clockwise as seen when looking straight at a face.
+     * Only facelets whose coordinate towards that face lies in {@code [from, to]} move, so {@code [2, 3]} is
+     * the outer layer, {@code [0, 3]} the two outer layers, {@code [0, 0]} the middle slice and
+     * {@code [-3, 3]} the whole cube.
+     */
+    private static int[] quarterTurnSource(int[][] positions, int face, int from, int to) {
+        int axis = axisOf(face);
+        int sign = face == Cube.D || face == Cube.L || face == Cube.B ? -1 : 1;
+        int[] source = new int[FACELET_COUNT];
+        for (int i = 0; i < FACELET_COUNT; i++) {
+            source[i] = i;
+        }
+
+        for (int i = 0; i < FACELET_COUNT; i++) {
+            int[] p = positions[i];
+            int depth = p[axis] * sign;
+            if (depth < from || depth > to) {
+                continue;
+            }
+            // A clockwise turn seen from outside is a -90 degree rotation about the outward normal.
+            int[] target = p.clone();
+            int a = (axis + 1) % 3;
+            int b = (axis + 2) % 3;
+            target[a] = p[b] * sign;
+            target[b] = -p[a] * sign;
+            source[indexOf(positions, target)] = i;
+        }
+        return source;
+    }
+
+    private static int axisOf(int face) {
+        return switch (face) {
+            case Cube.R, Cube.L -> 0;
+            case Cube.U, Cube.D -> 1;
+            default -> 2;
+        };
+    }
+
+    private static int indexOf(int[][] positions, int[] target) {
+        for (int i = 0; i < FACELET_COUNT; i++) {
+            int[] p = positions[i];
+            if (p[0] == target[0] && p[1] == target[1] && p[2] == target[2]) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("No facelet at generated position");
+    }
+
+    /**
+     * Splits a gather table into its non-trivial cycles, each listed in the direction the stickers travel.
+     */
+    private static int[] cycles(int[] source, int length) {
+        int[] target = new int[FACELET_COUNT];
+        for (int i = 0; i < FACELET_COUNT; i++) {
+            target[source[i]] = i;
+        }
+
+        int[] buffer = new int[FACELET_COUNT];
+        boolean[] seen = new boolean[FACELET_COUNT];
+        int count = 0;
+        for (int start = 0; start < FACELET_COUNT; start++) {
+            if (seen[start] || target[start] == start) {
+                continue;
+            }
+            int index = start;
+            for (int step = 0; step < length; step++) {
+                seen[index] = true;
+                buffer[count++] = index;
+                index = target[index];
+            }
+            if (index != start) {
+                throw new IllegalStateException("Move does not decompose into " + length + "-cycles");
+            }
+        }
+
+        int[] cycles = new int[count];
+        System.arraycopy(buffer, 0, cycles, 0, count);
+        return cycles;
+    }
+}
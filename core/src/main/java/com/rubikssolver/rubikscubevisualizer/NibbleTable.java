@@ -0,0 +1,147 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.LongStream;
+
+/**
+ * A fixed-size array of 4-bit values, two per byte, used for pruning tables where every entry is a small
+ * distance. The value {@link #EMPTY} marks entries that have not been filled yet.
+ * <p>
+ * The entries live off-heap in a {@link MemorySegment}, either freshly allocated or a read-only section mapped
+ * from a {@link TableFile}.
+ */
+final class NibbleTable {
+    static final int EMPTY = 0xF;
+
+    private final MemorySegment data;
+    private final long size;
+
+    interface Neighbors {
+        void of(long index, long[] neighbors);
+    }
+
+    NibbleTable(long size) {
+        this.size = size;
+        this.data = Arena.ofAuto().allocate(byteSize(size));
+        data.fill((byte) 0xFF);
+    }
+
+    /**
+     * Wraps existing entries, such as a mapped table file section.
+     */
+    NibbleTable(MemorySegment data, long size) {
+        if (data.byteSize() != byteSize(size)) {
+            throw new IllegalArgumentException("Expected " + byteSize(size) + " bytes, got " + data.byteSize());
+        }
+        this.size = size;
+        this.data = data;
+    }
+
+    /**
+     * Gets the number of bytes a table of {@code size} entries takes.
+     */
+    static long byteSize(long size) {
+        return (size + 1) / 2;
+    }
+
+    int get(long index) {
+        int packed = data.get(ValueLayout.JAVA_BYTE, index >>> 1);
+        return (index & 1) == 0 ? packed & 0xF : (packed >>> 4) & 0xF;
+    }
+
+    /**
+     * Sets one entry. Entries sharing a byte ({@code 2k} and {@code 2k + 1}) must be written by the same thread.
+     */
+    void set(long index, int value) {
+        long offset = index >>> 1;
+        int packed = data.get(ValueLayout.JAVA_BYTE, offset);
+        if ((index & 1) == 0) {
+            packed = (packed & 0xF0) | value;
+        } else {
+            packed = (packed & 0x0F) | (value << 4);
+        }
+        data.set(ValueLayout.JAVA_BYTE, offset, (byte) packed);
+    }
+
+    long size() {
+        return size;
+    }
+
+    long byteSize() {
+        return data.byteSize();
+    }
+
+    MemorySegment segment() {
+        return data;
+    }
+
+    /**
+     * Fills a table with the distance of every entry from {@code solved} by breadth-first search. Early levels
+     * push from the small frontier; once the frontier outgrows the unfilled entries, each level instead pulls in
+     * parallel, every unfilled entry checking whether a neighbor was reached on the previous level. Entries
+     * further than 14 moves away are left {@link #EMPTY}, which still reads as a valid lower bound of 15.
+     *
+     * @param entries   The number of entries.
+     * @param solved    The index of the goal state.
+     * @param moveCount The number of neighbors each entry has.
+     * @param neighbors Lists the neighbors of an entry; the move set must be closed under inverses.
+     * @return The filled table.
+     */
+    static NibbleTable breadthFirst(long entries, long solved, int moveCount, Neighbors neighbors) {
+        NibbleTable table = new NibbleTable(entries);
+        table.set(solved, 0);
+        long filled = 1;
+        long frontier = 1;
+        long[] buffer = new long[moveCount];
+
+        for (int depth = 0; frontier > 0 && depth < EMPTY - 1; depth++) {
+            int current = depth;
+            long reached;
+            if (frontier < entries - filled) {
+                reached = 0;
+                for (long index = 0; index < entries; index++) {
+                    if (table.get(index) != current) {
+                        continue;
+                    }
+                    neighbors.of(index, buffer);
+                    for (long next : buffer) {
+                        if (table.get(next) == EMPTY) {
+                            table.set(next, current + 1);
+                            reached++;
+                        }
+                    }
+                }
+            } else {
+                // Chunks start on even indices so both entries of a byte are written by the same thread.
+                long chunk = 1 << 16;
+                LongAdder counter = new LongAdder();
+                LongStream.range(0, (entries + chunk - 1) / chunk).parallel().forEach(c -> {
+                    long[] local = new long[moveCount];
+                    long end = Math.min(entries, (c + 1) * chunk);
+                    long count = 0;
+                    for (long index = c * chunk; index < end; index++) {
+                        if (table.get(index) != EMPTY) {
+                            continue;
+                        }
+                        neighbors.of(index, local);
+                        for (long next : local) {
+                            if (table.get(next) == current) {
+                                table.set(index, current + 1);
+                                count++;
+                                break;
+                            }
+                        }
+                    }
+                    counter.add(count);
+                });
+                reached = counter.sum();
+            }
+            filled += reached;
+            frontier = reached;
+        }
+        return table;
+    }
+}
@@ -0,0 +1,295 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.util.Arrays;
+
+/**
+ * A cube of any size from 2x2x2 up, stored as one byte per sticker.
+ * <p>
+ * Besides the {@link MoveSequence} codes every {@link FaceletCube} plays, it turns any block of layers through
+ * layer move codes (see {@link #parseMove(String)}). Turn tables are shared per size, and a move costs one
+ * byte rotation per sticker it moves, so an inner layer of a 7x7x7 moves 28 stickers and nothing else.
+ * The solvers and the algorithm library only know the 3x3x3; use {@link Cube} for those.
+ */
+public final class NxNCube implements FaceletCube {
+    /**
+     * The faces the slices M, E, S and the rotations x, y, z turn like.
+     */
+    private static final int[] SLICE_FACES = {Cube.L, Cube.D, Cube.F};
+    private static final int[] ROTATION_FACES = {Cube.R, Cube.U, Cube.F};
+
+    private final NxNMoveTables tables;
+    private final int size;
+    private final byte[] facelets;
+
+    /**
+     * Creates a solved cube.
+     *
+     * @param size The number of layers along each edge, at least 2.
+     */
+    public NxNCube(int size) {
+        this.tables = NxNMoveTables.forSize(size);
+        this.size = size;
+        this.facelets = new byte[tables.faceletCount];
+        reset();
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public int getFaceletCount() {
+        return facelets.length;
+    }
+
+    @Override
+    public byte getFacelet(int index) {
+        return facelets[index];
+    }
+
+    @Override
+    public void copyFaceletsTo(byte[] destination) {
+        System.arraycopy(facelets, 0, destination, 0, facelets.length);
+    }
+
+    @Override
+    public void setFacelets(byte[] newFacelets) {
+        System.arraycopy(newFacelets, 0, facelets, 0, facelets.length);
+    }
+
+    @Override
+    public void reset() {
+        int perFace = size * size;
+        for (int face = 0; face < 6; face++) {
+            Arrays.fill(facelets, face * perFace, (face + 1) * perFace, (byte) face);
+        }
+    }
+
+    /**
+     * Checks that every face shows a single color. On even sizes the centers can move, so the colors need not be
+     * on the faces they started on.
+     */
+    @Override
+    public boolean isSolved() {
+        int perFace = size * size;
+        for (int face = 0; face < 6; face++) {
+            byte color = facelets[face * perFace];
+            for (int i = face * perFace + 1; i < (face + 1) * perFace; i++) {
+                if (facelets[i] != color) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Applies a {@link MoveSequence} code: outer turns move the outer layer, wide turns the outer two, slices
+     * every inner layer and rotations the whole cube.
+     */
+    @Override
+    public void applyMove(int move) {
+        int layerMove = tables.fromSequenceMove(move);
+        if (layerMove < 0) {
+            throw new IllegalArgumentException(MoveSequence.moveName(move) + " has no layer to turn on a "
+                    + size + "x" + size + "x" + size);
+        }
+        tables.apply(facelets, layerMove);
+    }
+
+    @Override
+    public int[] movedFacelets(int move) {
+        return tables.movedFacelets(move);
+    }
+
+    /**
+     * Applies a layer move.
+     *
+     * @param layerMove The layer move code, see {@link #parseMove(String)}.
+     */
+    public void applyLayerMove(int layerMove) {
+        tables.apply(facelets, layerMove);
+    }
+
+    /**
+     * Applies every layer move of an array in order.
+     *
+     * @param layerMoves The layer move codes.
+     */
+    public void applyLayerMoves(int[] layerMoves) {
+        for (int layerMove : layerMoves) {
+            tables.apply(facelets, layerMove);
+        }
+    }
+
+    /**
+     * Gets the code of a block turn of this size.
+     *
+     * @param face  The face the layers are counted from and turn like.
+     * @param first The first layer to turn, 0 being the outer one.
+     * @param last  The last layer to turn, from {@code first} to {@code size - 1}.
+     * @param power 1 for a clockwise quarter turn, 2 for a half turn, 3 for a counter-clockwise quarter turn.
+     * @return The layer move code.
+     */
+    public int layerMove(int face, int first, int last, int power) {
+        if (face < Cube.U || face > Cube.B || first < 0 || first > last || last >= size
+                || power < 1 || power > 3) {
+            throw new IllegalArgumentException("Invalid layer move: face " + face + ", layers " + first + "-"
+                    + last + ", power " + power);
+        }
+        return tables.layerMove(face, first, last, power);
+    }
+
+    /**
+     * Gets the code of the layer move that undoes the given one.
+     */
+    public static int inverseLayerMove(int layerMove) {
+        return MoveSequence.inverseMove(layerMove);
+    }
+
+    /**
+     * Parses a single move in big-cube notation: {@code R} turns the outer layer, {@code 3R} the third layer
+     * alone, {@code Rw} or {@code r} the outer two, {@code 3Rw} the outer three and {@code 2-4Rw} layers two to
+     * four; {@code M E S} turn every inner layer and {@code x y z} the whole cube. Each may be followed by
+     * {@code 2} or {@code '}.
+     *
+     * @param token The move.
+     * @return The layer move code.
+     */
+    public int parseMove(String token) {
+        int length = token.length();
+        int index = 0;
+        int first = -1;
+        int count = -1;
+        while (index < length && Character.isDigit(token.charAt(index))) {
+            index++;
+        }
+        if (index > 0) {
+            count = Integer.parseInt(token.substring(0, index));
+            if (index < length && token.charAt(index) == '-') {
+                int start = ++index;
+                while (index < length && Character.isDigit(token.charAt(index))) {
+                    index++;
+                }
+                if (index == start) {
+                    throw new IllegalArgumentException("Invalid move: " + token);
+                }
+                first = count - 1;
+                count = Integer.parseInt(token.substring(start, index));
+            }
+        }
+        if (index == length) {
+            throw new IllegalArgumentException("Invalid move: " + token);
+        }
+
+        char letter = token.charAt(index++);
+        int face = "URFDLB".indexOf(Character.toUpperCase(letter));
+        int from;
+        int to;
+        if (face >= 0) {
+            boolean wide = Character.isLowerCase(letter);
+            if (index < length && token.charAt(index) == 'w' && !wide) {
+                wide = true;
+                index++;
+            }
+            if (first >= 0) {
+                if (!wide) {
+                    throw new IllegalArgumentException("Invalid move: " + token);
+                }
+                from = first;
+                to = count - 1;
+            } else if (wide) {
+                from = 0;
+                to = count < 0 ? 1 : count - 1;
+            } else {
+                from = count < 0 ? 0 : count - 1;
+                to = from;
+            }
+        } else if (count < 0 && "MES".indexOf(letter) >= 0) {
+            face = SLICE_FACES["MES".indexOf(letter)];
+            from = 1;
+            to = size - 2;
+        } else if (count < 0 && "xyz".indexOf(letter) >= 0) {
+            face = ROTATION_FACES["xyz".indexOf(letter)];
+            from = 0;
+            to = size - 1;
+        } else {
+            throw new IllegalArgumentException("Invalid move: " + token);
+        }
+
+        int power = 1;
+        if (index < length && token.charAt(index) == '2') {
+            power = 2;
+            index++;
+        }
+        if (index < length && token.charAt(index) == '\'') {
+            power = power == 2 ? 2 : 3;
+            index++;
+        }
+        if (index != length || from < 0 || from > to || to >= size) {
+            throw new IllegalArgumentException("Invalid move for a " + size + "x" + size + "x" + size + ": " + token);
+        }
+        return tables.layerMove(face, from, to, power);
+    }
+
+    /**
+     * Parses space-separated big-cube notation, see {@link #parseMove(String)}.
+     *
+     * @param notation The moves to parse.
+     * @return The layer move codes.
+     */
+    public int[] parseMoves(String notation) {
+        String trimmed = notation.trim();
+        if (trimmed.isEmpty()) {
+            return new int[0];
+        }
+        String[] tokens = trimmed.split("\\s+");
+        int[] moves = new int[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            moves[i] = parseMove(tokens[i]);
+        }
+        return moves;
+    }
+
+    /**
+     * Gets the notation of a layer move, in the form {@link #parseMove(String)} reads back.
+     *
+     * @param layerMove The layer move code.
+     * @return The move in big-cube notation.
+     */
+    public String moveName(int layerMove) {
+        int face = NxNMoveTables.face(layerMove, size);
+        int first = NxNMoveTables.firstLayer(layerMove, size);
+        int last = NxNMoveTables.lastLayer(layerMove, size);
+        String suffix = switch (layerMove % 3) {
+            case 0 -> "";
+            case 1 -> "2";
+            default -> "'";
+        };
+
+        char letter = "URFDLB".charAt(face);
+        if (first == 0 && last == size - 1 && indexOf(ROTATION_FACES, face) >= 0) {
+            return "xyz".charAt(indexOf(ROTATION_FACES, face)) + suffix;
+        }
+        if (first == 1 && last == size - 2 && indexOf(SLICE_FACES, face) >= 0) {
+            return "MES".charAt(indexOf(SLICE_FACES, face)) + suffix;
+        }
+        if (first == last) {
+            return (first == 0 ? "" : String.valueOf(first + 1)) + letter + suffix;
+        }
+        if (first == 0) {
+            return (last == 1 ? "" : String.valueOf(last + 1)) + letter + "w" + suffix;
+        }
+        return (first + 1) + "-" + (last + 1) + letter + "w" + suffix;
+    }
+
+    private static int indexOf(int[] faces, int face) {
+        for (int i = 0; i < faces.length; i++) {
+            if (faces[i] == face) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
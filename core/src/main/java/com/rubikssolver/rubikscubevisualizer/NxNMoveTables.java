@@ -0,0 +1,314 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Layer turns for {@link NxNCube}s of one size, generated once per size and shared by every cube of that size.
+ * <p>
+ * Facelets are laid out as in {@link MoveTables}, with {@code size} stickers along each edge. Layers are counted
+ * from the face they turn like, 0 being the outer layer. For each face and layer the table keeps the 4-cycles
+ * its stickers travel under a clockwise quarter turn, so a turn of any power moves exactly the stickers it
+ * changes: {@code 4 * size} for an inner layer plus the {@code size * size} face stickers for an outer one.
+ * <p>
+ * A layer move code is {@code ((face * size + first) * size + last) * 3 + power - 1} and turns layers
+ * {@code first} to {@code last} of {@code face} together.
+ */
+final class NxNMoveTables {
+    private static final Map<Integer, NxNMoveTables> BY_SIZE = new ConcurrentHashMap<>();
+
+    private static final int[] SLICE_FACES = {Cube.L, Cube.D, Cube.F};
+    private static final int[] ROTATION_FACES = {Cube.R, Cube.U, Cube.F};
+
+    final int size;
+    final int faceletCount;
+
+    /**
+     * The quarter-turn cycles of every layer, indexed {@code face * size + layer}.
+     */
+    private final int[][] layerCycles;
+
+    /**
+     * The layer move each {@link MoveSequence} code turns, or -1 where this size has no such layer.
+     */
+    private final int[] sequenceMoves = new int[MoveTables.MOVE_COUNT];
+    private final int[][] sequenceMovedFacelets = new int[MoveTables.MOVE_COUNT][];
+
+    private NxNMoveTables(int size) {
+        this.size = size;
+        this.faceletCount = 6 * size * size;
+        this.layerCycles = new int[6 * size][];
+
+        int[] p = new int[3];
+        int[][] members = new int[6 * size][];
+        int[] counts = new int[6 * size];
+        for (int face = 0; face < 6; face++) {
+            for (int i = 0; i < faceletCount; i++) {
+                position(i, p);
+                counts[face * size + layerOf(face, p)]++;
+            }
+        }
+        for (int layer = 0; layer < members.length; layer++) {
+            members[layer] = new int[counts[layer]];
+            counts[layer] = 0;
+        }
+        for (int face = 0; face < 6; face++) {
+            for (int i = 0; i < faceletCount; i++) {
+                position(i, p);
+                int layer = face * size + layerOf(face, p);
+                members[layer][counts[layer]++] = i;
+            }
+        }
+
+        boolean[] seen = new boolean[faceletCount];
+        for (int face = 0; face < 6; face++) {
+            for (int layer = 0; layer < size; layer++) {
+                layerCycles[face * size + layer] = cycles(face, members[face * size + layer], seen, p);
+            }
+        }
+
+        for (int face = 0; face < 6; face++) {
+            addSequenceMoves(face, face, 0, 0);
+            addSequenceMoves(MoveTables.WIDE_BASE + face, face, 0, 1);
+        }
+        for (int i = 0; i < 3; i++) {
+            addSequenceMoves(MoveTables.SLICE_BASE + i, SLICE_FACES[i], 1, size - 2);
+            addSequenceMoves(MoveTables.ROTATION_BASE + i, ROTATION_FACES[i], 0, size - 1);
+        }
+    }
+
+    /**
+     * Gets the tables of a size, generating them the first time the size is used.
+     *
+     * @param size The number of layers along each edge, at least 2.
+     */
+    static NxNMoveTables forSize(int size) {
+        if (size < 2) {
+            throw new IllegalArgumentException("Cube size must be at least 2: " + size);
+        }
+        return BY_SIZE.computeIfAbsent(size, NxNMoveTables::new);
+    }
+
+    int layerMove(int face, int first, int last, int power) {
+        return ((face * size + first) * size + last) * 3 + power - 1;
+    }
+
+    static int face(int layerMove, int size) {
+        return layerMove / 3 / size / size;
+    }
+
+    static int firstLayer(int layerMove, int size) {
+        return layerMove / 3 / size % size;
+    }
+
+    static int lastLayer(int layerMove, int size) {
+        return layerMove / 3 % size;
+    }
+
+    /**
+     * Gets the layer move a {@link MoveSequence} code turns at this size.
+     *
+     * @return The layer move code, or -1 if this size has no layer for it.
+     */
+    int fromSequenceMove(int move) {
+        return sequenceMoves[move];
+    }
+
+    /**
+     * Lists the facelets a {@link MoveSequence} code changes at this size. The array is shared and must not be
+     * modified.
+     */
+    int[] movedFacelets(int move) {
+        return sequenceMovedFacelets[move];
+    }
+
+    /**
+     * Applies a layer move to a facelet array in place.
+     */
+    void apply(byte[] facelets, int layerMove) {
+        int power = layerMove % 3 + 1;
+        int face = face(layerMove, size);
+        int last = lastLayer(layerMove, size);
+        for (int layer = firstLayer(layerMove, size); layer <= last; layer++) {
+            int[] cycles = layerCycles[face * size + layer];
+            switch (power) {
+                case 1 -> {
+                    for (int i = 0; i < cycles.length; i += 4) {
+                        byte moved = facelets[cycles[i + 3]];
+                        facelets[cycles[i + 3]] = facelets[cycles[i + 2]];
+                        facelets[cycles[i + 2]] = facelets[cycles[i + 1]];
+                        facelets[cycles[i + 1]] = facelets[cycles[i]];
+                        facelets[cycles[i]] = moved;
+                    }
+                }
+                case 2 -> {
+                    for (int i = 0; i < cycles.length; i += 4) {
+                        byte moved = facelets[cycles[i]];
+                        facelets[cycles[i]] = facelets[cycles[i + 2]];
+                        facelets[cycles[i + 2]] = moved;
+                        moved = facelets[cycles[i + 1]];
+                        facelets[cycles[i + 1]] = facelets[cycles[i + 3]];
+                        facelets[cycles[i + 3]] = moved;
+                    }
+                }
+                default -> {
+                    for (int i = 0; i < cycles.length; i += 4) {
+                        byte moved = facelets[cycles[i]];
+                        facelets[cycles[i]] = facelets[cycles[i + 1]];
+                        facelets[cycles[i + 1]] = facelets[cycles[i + 2]];
+                        facelets[cycles[i + 2]] = facelets[cycles[i + 3]];
+                        facelets[cycles[i + 3]] = moved;
+                    }
+                }
+            }
+        }
+    }
+
+    private void addSequenceMoves(int base, int face, int first, int last) {
+        int[] moved = new int[0];
+        if (first <= last) {
+            int length = 0;
+            for (int layer = first; layer <= last; layer++) {
+                length += layerCycles[face * size + layer].length;
+            }
+            moved = new int[length];
+            length = 0;
+            for (int layer = first; layer <= last; layer++) {
+                int[] cycles = layerCycles[face * size + layer];
+                System.arraycopy(cycles, 0, moved, length, cycles.length);
+                length += cycles.length;
+            }
+        }
+        for (int power = 1; power <= 3; power++) {
+            int move = base * 3 + power - 1;
+            sequenceMoves[move] = first <= last ? layerMove(face, first, last, power) : -1;
+            sequenceMovedFacelets[move] = moved;
+        }
+    }
+
+    /**
+     * Finds the position of a facelet center in doubled integer coordinates, as in {@link MoveTables}: x points
+     * to R, y to U and z to F, cubie centers lie on {@code -(size - 1)} to {@code size - 1} in steps of 2 and the
+     * sticker planes on {@code -size} and {@code size}.
+     */
+    private void position(int index, int[] p) {
+        int face = index / (size * size);
+        int across = 2 * (index % size) - (size - 1);
+        int down = size - 1 - 2 * (index / size % size);
+        switch (face) {
+            case Cube.U -> set(p, across, size, -down);
+            case Cube.R -> set(p, size, down, -across);
+            case Cube.F -> set(p, across, down, size);
+            case Cube.D -> set(p, across, -size, down);
+            case Cube.L -> set(p, -size, down, across);
+            default -> set(p, -across, down, -size);
+        }
+    }
+
+    private static void set(int[] p, int x, int y, int z) {
+        p[0] = x;
+        p[1] = y;
+        p[2] = z;
+    }
+
+    private int indexOf(int[] p) {
+        int face;
+        int across;
+        int down;
+        if (p[1] == size) {
+            face = Cube.U;
+            across = p[0];
+            down = -p[2];
+        } else if (p[0] == size) {
+            face = Cube.R;
+            across = -p[2];
+            down = p[1];
+        } else if (p[2] == size) {
+            face = Cube.F;
+            across = p[0];
+            down = p[1];
+        } else if (p[1] == -size) {
+            face = Cube.D;
+            across = p[0];
+            down = p[2];
+        } else if (p[0] == -size) {
+            face = Cube.L;
+            across = p[2];
+            down = p[1];
+        } else {
+            face = Cube.B;
+            across = -p[0];
+            down = p[1];
+        }
+        return face * size * size + (size - 1 - down) / 2 * size + (across + size - 1) / 2;
+    }
+
+    private int layerOf(int face, int[] p) {
+        int depth = p[axisOf(face)] * signOf(face);
+        if (depth == size) {
+            return 0;
+        }
+        if (depth == -size) {
+            return size - 1;
+        }
+        return (size - 1 - depth) / 2;
+    }
+
+    /**
+     * Follows each sticker of a layer around its 4-cycle under a clockwise quarter turn of {@code face}. Centers
+     * that stay put are left out.
+     */
+    private int[] cycles(int face, int[] members, boolean[] seen, int[] p) {
+        int[] cycles = new int[members.length];
+        int count = 0;
+        for (int start : members) {
+            if (seen[start] || target(face, start, p) == start) {
+                continue;
+            }
+            int index = start;
+            for (int step = 0; step < 4; step++) {
+                seen[index] = true;
+                cycles[count++] = index;
+                index = target(face, index, p);
+            }
+            if (index != start) {
+                throw new IllegalStateException("Layer turn does not decompose into 4-cycles");
+            }
+        }
+        for (int member : members) {
+            seen[member] = false;
+        }
+
+        int[] result = new int[count];
+        System.arraycopy(cycles, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * Finds where a clockwise quarter turn of {@code face} takes a sticker: a -90 degree rotation about the
+     * outward normal.
+     */
+    private int target(int face, int index, int[] p) {
+        position(index, p);
+        int axis = axisOf(face);
+        int sign = signOf(face);
+        int a = (axis + 1) % 3;
+        int b = (axis + 2) % 3;
+        int pa = p[a];
+        p[a] = p[b] * sign;
+        p[b] = -pa * sign;
+        return indexOf(p);
+    }
+
+    private static int axisOf(int face) {
+        return switch (face) {
+            case Cube.R, Cube.L -> 0;
+            case Cube.U, Cube.D -> 1;
+            default -> 2;
+        };
+    }
+
+    private static int signOf(int face) {
+        return face == Cube.D || face == Cube.L || face == Cube.B ? -1 : 1;
+    }
+}
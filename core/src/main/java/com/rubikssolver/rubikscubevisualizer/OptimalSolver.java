@@ -0,0 +1,126 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+/**
+ * Finds a shortest solution in face turns (half turns counted as one) with iterative-deepening A*, pruned by
+ * the {@link PatternDatabases}. The tables take a while to generate and about 90 MB of memory, so they are built
+ * once per process on the first solve.
+ * <p>
+ * Instances are not thread-safe; use one per thread. The tables themselves are shared.
+ */
+public class OptimalSolver {
+    public static final int MAX_LENGTH = 20;
+
+    private final PatternDatabases tables;
+
+    private final int[] cornerPermutation = new int[MAX_LENGTH + 1];
+    private final int[] cornerTwist = new int[MAX_LENGTH + 1];
+    private final byte[][] edges = new byte[MAX_LENGTH + 1][CubieCube.EDGE_COUNT];
+    private final byte[] solution = new byte[MAX_LENGTH];
+    private long nodes;
+
+    private SolverStatistics lastStatistics;
+
+    public OptimalSolver() {
+        this.tables = PatternDatabases.shared();
+    }
+
+    /**
+     * Solves the given cube without changing it.
+     *
+     * @param cube The cube to solve.
+     * @return A shortest move sequence that solves it.
+     */
+    public MoveSequence solve(Cube cube) {
+        return solve(CubieCube.fromCube(cube), MAX_LENGTH);
+    }
+
+    /**
+     * Solves a cube given in piece form.
+     *
+     * @param cube      The state to solve.
+     * @param maxLength The longest solution to look for.
+     * @return A shortest move sequence that solves it, or null if none is at most {@code maxLength} long.
+     * @throws IllegalArgumentException if the state cannot be solved.
+     */
+    public MoveSequence solve(CubieCube cube, int maxLength) {
+        if (!cube.isSolvable()) {
+            throw new IllegalArgumentException("Cube state is not solvable");
+        }
+        maxLength = Math.min(maxLength, MAX_LENGTH);
+
+        long start = System.nanoTime();
+        nodes = 0;
+        cornerPermutation[0] = cube.cornerPermutationCoordinate();
+        cornerTwist[0] = cube.cornerTwistCoordinate();
+        for (int slot = 0; slot < CubieCube.EDGE_COUNT; slot++) {
+            edges[0][cube.edgePermutation[slot]] = (byte) (slot * 2 + cube.edgeOrientation[slot]);
+        }
+
+        MoveSequence found = null;
+        int bound = tables.estimate(cornerPermutation[0], cornerTwist[0], edges[0]);
+        for (; bound <= maxLength; bound++) {
+            if (search(0, bound, -1)) {
+                byte[] codes = new byte[bound];
+                System.arraycopy(solution, 0, codes, 0, bound);
+                found = MoveSequence.ofCodes(codes);
+                break;
+            }
+        }
+
+        MoveSequence result = found == null ? null : MoveSimplifier.simplify(found);
+        lastStatistics = new SolverStatistics(nodes, System.nanoTime() - start, found, result,
+                tables.byteSize(), new long[]{nodes});
+        return result;
+    }
+
+    /**
+     * Gets the figures from the most recent call to {@code solve}.
+     *
+     * @return The statistics, or null if nothing has been solved yet.
+     */
+    public SolverStatistics getLastStatistics() {
+        return lastStatistics;
+    }
+
+    private boolean search(int depth, int bound, int lastFace) {
+        nodes++;
+        int estimate = tables.estimate(cornerPermutation[depth], cornerTwist[depth], edges[depth]);
+        if (estimate == 0) {
+            return depth == bound;
+        }
+        if (depth + estimate > bound) {
+            return false;
+        }
+
+        byte[] current = edges[depth];
+        byte[] next = edges[depth + 1];
+        for (int move = 0; move < PatternDatabases.MOVE_COUNT; move++) {
+            int face = move / 3;
+            if (isRedundant(lastFace, face)) {
+                continue;
+            }
+
+            cornerPermutation[depth + 1] = tables.cornerPermutationMoves[cornerPermutation[depth] * PatternDatabases.MOVE_COUNT + move];
+            cornerTwist[depth + 1] = tables.cornerTwistMoves[cornerTwist[depth] * PatternDatabases.MOVE_COUNT + move];
+            for (int edge = 0; edge < CubieCube.EDGE_COUNT; edge++) {
+                next[edge] = tables.edgeMoves[move * 24 + current[edge]];
+            }
+            solution[depth] = (byte) move;
+            if (search(depth + 1, bound, face)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Skips a second turn of the same face, and the second of two opposite-face turns when they come in the
+     * non-canonical order, since both are covered by shorter or equivalent sequences.
+     */
+    static boolean isRedundant(int lastFace, int face) {
+        if (lastFace < 0) {
+            return false;
+        }
+        return face == lastFace || (face == (lastFace + 3) % 6 && face < lastFace);
+    }
+}
@@ -0,0 +1,258 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@link OptimalSolver} search spread over a {@link ForkJoinPool}.
+ * <p>
+ * Each iterative-deepening pass splits the move tree at the first {@link #SPLIT_DEPTH} plies into tasks, which
+ * idle workers steal from each other. All tasks share the bound: the first solution found withdraws it, which
+ * every other task notices within a thousand nodes and abandons its subtree. Since the
+ * passes run in order of length, the first solution is also a shortest one.
+ * <p>
+ * Nodes are counted per worker, see {@link SolverStatistics#getWorkerNodes()}, to check how evenly the work
+ * spreads as cores are added. Instances are not thread-safe; the tables and pool may be shared.
+ */
+public class ParallelOptimalSolver {
+    static final int SPLIT_DEPTH = 3;
+
+    private static final int CANCEL_CHECK_INTERVAL = 1 << 10;
+
+    private final PatternDatabases tables;
+    private final ForkJoinPool pool;
+
+    private final AtomicInteger bound = new AtomicInteger();
+    private final AtomicReference<byte[]> solution = new AtomicReference<>();
+    private final Map<Thread, LongAdder> workerNodes = new ConcurrentHashMap<>();
+
+    private SolverStatistics lastStatistics;
+
+    /**
+     * Creates a solver on the common pool.
+     */
+    public ParallelOptimalSolver() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelOptimalSolver(ForkJoinPool pool) {
+        this.tables = PatternDatabases.shared();
+        this.pool = pool;
+    }
+
+    /**
+     * Solves the given cube without changing it.
+     *
+     * @param cube The cube to solve.
+     * @return A shortest move sequence that solves it.
+     */
+    public MoveSequence solve(Cube cube) {
+        return solve(CubieCube.fromCube(cube), OptimalSolver.MAX_LENGTH);
+    }
+
+    /**
+     * Solves a cube given in piece form.
+     *
+     * @param cube      The state to solve.
+     * @param maxLength The longest solution to look for.
+     * @return A shortest move sequence that solves it, or null if none is at most {@code maxLength} long.
+     * @throws IllegalArgumentException if the state cannot be solved.
+     */
+    public MoveSequence solve(CubieCube cube, int maxLength) {
+        if (!cube.isSolvable()) {
+            throw new IllegalArgumentException("Cube state is not solvable");
+        }
+        maxLength = Math.min(maxLength, OptimalSolver.MAX_LENGTH);
+
+        long start = System.nanoTime();
+        workerNodes.clear();
+        solution.set(null);
+
+        byte[] edges = new byte[CubieCube.EDGE_COUNT];
+        for (int slot = 0; slot < CubieCube.EDGE_COUNT; slot++) {
+            edges[cube.edgePermutation[slot]] = (byte) (slot * 2 + cube.edgeOrientation[slot]);
+        }
+        int cornerPermutation = cube.cornerPermutationCoordinate();
+        int cornerTwist = cube.cornerTwistCoordinate();
+
+        int first = tables.estimate(cornerPermutation, cornerTwist, edges);
+        for (int length = first; length <= maxLength && solution.get() == null; length++) {
+            bound.set(length);
+            pool.invoke(new SearchTask(new byte[0], cornerPermutation, cornerTwist, edges, -1));
+        }
+
+        byte[] codes = solution.get();
+        MoveSequence found = codes == null ? null : MoveSequence.ofCodes(codes);
+        MoveSequence result = found == null ? null : MoveSimplifier.simplify(found);
+        long[] perWorker = workerNodes.values().stream().mapToLong(LongAdder::sum).toArray();
+        long nodes = 0;
+        for (long count : perWorker) {
+            nodes += count;
+        }
+        lastStatistics = new SolverStatistics(nodes, System.nanoTime() - start, found, result,
+                tables.byteSize(), perWorker);
+        return result;
+    }
+
+    /**
+     * Gets the figures from the most recent call to {@code solve}.
+     *
+     * @return The statistics, or null if nothing has been solved yet.
+     */
+    public SolverStatistics getLastStatistics() {
+        return lastStatistics;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    private void found(byte[] moves) {
+        if (solution.compareAndSet(null, moves)) {
+            bound.set(-1);
+        }
+    }
+
+    private void countNodes(long nodes) {
+        workerNodes.computeIfAbsent(Thread.currentThread(), thread -> new LongAdder()).add(nodes);
+    }
+
+    /**
+     * One node of the first {@link #SPLIT_DEPTH} plies. Above that depth it forks a task per move; at it, it
+     * searches the whole subtree on the current thread.
+     */
+    private final class SearchTask extends RecursiveAction {
+        private final byte[] prefix;
+        private final int cornerPermutation;
+        private final int cornerTwist;
+        private final byte[] edges;
+        private final int lastFace;
+
+        SearchTask(byte[] prefix, int cornerPermutation, int cornerTwist, byte[] edges, int lastFace) {
+            this.prefix = prefix;
+            this.cornerPermutation = cornerPermutation;
+            this.cornerTwist = cornerTwist;
+            this.edges = edges;
+            this.lastFace = lastFace;
+        }
+
+        @Override
+        protected void compute() {
+            int depth = prefix.length;
+            int limit = bound.get();
+            if (depth < SPLIT_DEPTH && limit > depth) {
+                countNodes(1);
+                int estimate = tables.estimate(cornerPermutation, cornerTwist, edges);
+                if (depth + estimate > limit || estimate == 0) {
+                    return;
+                }
+                List<SearchTask> children = new ArrayList<>(PatternDatabases.MOVE_COUNT);
+                for (int move = 0; move < PatternDatabases.MOVE_COUNT; move++) {
+                    int face = move / 3;
+                    if (OptimalSolver.isRedundant(lastFace, face)) {
+                        continue;
+                    }
+                    byte[] next = new byte[CubieCube.EDGE_COUNT];
+                    for (int edge = 0; edge < CubieCube.EDGE_COUNT; edge++) {
+                        next[edge] = tables.edgeMoves[move * 24 + edges[edge]];
+                    }
+                    byte[] childPrefix = new byte[depth + 1];
+                    System.arraycopy(prefix, 0, childPrefix, 0, depth);
+                    childPrefix[depth] = (byte) move;
+                    children.add(new SearchTask(childPrefix,
+                            tables.cornerPermutationMoves[cornerPermutation * PatternDatabases.MOVE_COUNT + move],
+                            tables.cornerTwistMoves[cornerTwist * PatternDatabases.MOVE_COUNT + move],
+                            next, face));
+                }
+                invokeAll(children);
+            } else if (limit >= depth) {
+                new SubtreeSearch(this, limit).run();
+            }
+        }
+    }
+
+    /**
+     * The sequential search below a split point, the same as {@link OptimalSolver}'s except that it gives up
+     * once another task has found a solution.
+     */
+    private final class SubtreeSearch {
+        private final int limit;
+        private final int start;
+        private final int lastFace;
+        private final int[] cornerPermutation;
+        private final int[] cornerTwist;
+        private final byte[][] edges;
+        private final byte[] moves;
+        private long nodes;
+        private boolean cancelled;
+
+        SubtreeSearch(SearchTask root, int limit) {
+            int depth = root.prefix.length;
+            this.limit = limit;
+            this.cornerPermutation = new int[limit + 1];
+            this.cornerTwist = new int[limit + 1];
+            this.edges = new byte[limit + 1][];
+            this.moves = new byte[limit];
+            cornerPermutation[depth] = root.cornerPermutation;
+            cornerTwist[depth] = root.cornerTwist;
+            for (int i = depth; i <= limit; i++) {
+                edges[i] = new byte[CubieCube.EDGE_COUNT];
+            }
+            System.arraycopy(root.edges, 0, edges[depth], 0, CubieCube.EDGE_COUNT);
+            System.arraycopy(root.prefix, 0, moves, 0, depth);
+            this.start = depth;
+            this.lastFace = root.lastFace;
+        }
+
+        void run() {
+            if (search(start, lastFace)) {
+                found(moves);
+            }
+            countNodes(nodes);
+        }
+
+        private boolean search(int depth, int lastFace) {
+            if (++nodes % CANCEL_CHECK_INTERVAL == 0 && bound.get() != limit) {
+                cancelled = true;
+            }
+            if (cancelled) {
+                return false;
+            }
+
+            int estimate = tables.estimate(cornerPermutation[depth], cornerTwist[depth], edges[depth]);
+            if (estimate == 0) {
+                return depth == limit;
+            }
+            if (depth + estimate > limit) {
+                return false;
+            }
+
+            byte[] current = edges[depth];
+            byte[] next = edges[depth + 1];
+            for (int move = 0; move < PatternDatabases.MOVE_COUNT; move++) {
+                int face = move / 3;
+                if (OptimalSolver.isRedundant(lastFace, face)) {
+                    continue;
+                }
+
+                cornerPermutation[depth + 1] = tables.cornerPermutationMoves[cornerPermutation[depth] * PatternDatabases.MOVE_COUNT + move];
+                cornerTwist[depth + 1] = tables.cornerTwistMoves[cornerTwist[depth] * PatternDatabases.MOVE_COUNT + move];
+                for (int edge = 0; edge < CubieCube.EDGE_COUNT; edge++) {
+                    next[edge] = tables.edgeMoves[move * 24 + current[edge]];
+                }
+                moves[depth] = (byte) move;
+                if (search(depth + 1, face)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
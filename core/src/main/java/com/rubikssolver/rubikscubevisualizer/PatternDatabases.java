@@ -0,0 +1,229 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.List;
+
+/**
+ * Korf-style pattern databases: for a subset of the pieces, the exact number of face turns needed to solve that
+ * subset from every possible arrangement of it. The largest of the lookups is an admissible estimate of the
+ * distance to solved, which is what lets {@link OptimalSolver} prune.
+ * <p>
+ * Three tables are kept, each packed at 4 bits per entry:
+ * <ul>
+ *     <li>all 8 corners: 8! permutations x 3^7 twists = 88,179,840 entries</li>
+ *     <li>edges UR, UF, UL, UB, DR, DF: 12!/6! placements x 2^6 flips = 42,577,920 entries</li>
+ *     <li>edges DL, DB, FR, FL, BL, BR: the same size</li>
+ * </ul>
+ * Tables are filled by {@link NibbleTable#breadthFirst} on the first run and saved, together with the move tables,
+ * as a {@link TableFile}; later runs map the file instead.
+ */
+final class PatternDatabases {
+    static final int MOVE_COUNT = MoveTables.FACE_MOVE_COUNT;
+
+    static final int CORNER_TWISTS = 2187;
+    static final int CORNER_PERMUTATIONS = 40320;
+    static final long CORNER_ENTRIES = (long) CORNER_PERMUTATIONS * CORNER_TWISTS;
+
+    static final int GROUP_EDGES = 6;
+    static final int EDGE_PLACEMENTS = 665280;
+    static final int EDGE_FLIPS = 64;
+    static final long EDGE_ENTRIES = (long) EDGE_PLACEMENTS * EDGE_FLIPS;
+
+    static final String FILE_NAME = "pattern-databases.tbl";
+    static final int TABLE_VERSION = 1;
+
+    /**
+     * Corner coordinate move tables, indexed {@code coordinate * MOVE_COUNT + move}.
+     */
+    final char[] cornerPermutationMoves = new char[CORNER_PERMUTATIONS * MOVE_COUNT];
+    final char[] cornerTwistMoves = new char[CORNER_TWISTS * MOVE_COUNT];
+
+    /**
+     * Where a single edge goes: indexed {@code move * 24 + slot * 2 + flip}, holding the new {@code slot * 2 + flip}.
+     */
+    final byte[] edgeMoves = new byte[MOVE_COUNT * 24];
+
+    final NibbleTable corners;
+    final NibbleTable firstEdges;
+    final NibbleTable secondEdges;
+
+    private static final ThreadLocal<byte[][]> EDGE_SCRATCH =
+            ThreadLocal.withInitial(() -> new byte[2][GROUP_EDGES]);
+
+    private static final class Holder {
+        static final PatternDatabases SHARED = new PatternDatabases();
+    }
+
+    private PatternDatabases() {
+        long[] sectionBytes = {
+                2L * cornerPermutationMoves.length, 2L * cornerTwistMoves.length, edgeMoves.length,
+                NibbleTable.byteSize(CORNER_ENTRIES), NibbleTable.byteSize(EDGE_ENTRIES),
+                NibbleTable.byteSize(EDGE_ENTRIES)
+        };
+        List<MemorySegment> sections = TableFile.load(FILE_NAME, TABLE_VERSION, sectionBytes, this::generate);
+
+        MemorySegment.copy(sections.get(0), ValueLayout.JAVA_CHAR, 0, cornerPermutationMoves, 0,
+                cornerPermutationMoves.length);
+        MemorySegment.copy(sections.get(1), ValueLayout.JAVA_CHAR, 0, cornerTwistMoves, 0, cornerTwistMoves.length);
+        MemorySegment.copy(sections.get(2), ValueLayout.JAVA_BYTE, 0, edgeMoves, 0, edgeMoves.length);
+        corners = new NibbleTable(sections.get(3), CORNER_ENTRIES);
+        firstEdges = new NibbleTable(sections.get(4), EDGE_ENTRIES);
+        secondEdges = new NibbleTable(sections.get(5), EDGE_ENTRIES);
+    }
+
+    /**
+     * Builds every table from scratch, in file section order.
+     */
+    private List<MemorySegment> generate() {
+        buildMoveTables();
+        NibbleTable corners = NibbleTable.breadthFirst(CORNER_ENTRIES, 0, MOVE_COUNT, this::cornerNeighbors);
+        NibbleTable firstEdges = NibbleTable.breadthFirst(EDGE_ENTRIES, edgeIndex(solvedEdges(), 0), MOVE_COUNT,
+                this::edgeNeighbors);
+        NibbleTable secondEdges = NibbleTable.breadthFirst(EDGE_ENTRIES, edgeIndex(solvedEdges(), GROUP_EDGES),
+                MOVE_COUNT, this::edgeNeighbors);
+        return List.of(MemorySegment.ofArray(cornerPermutationMoves), MemorySegment.ofArray(cornerTwistMoves),
+                MemorySegment.ofArray(edgeMoves), corners.segment(), firstEdges.segment(), secondEdges.segment());
+    }
+
+    /**
+     * Gets the process-wide tables, generating them on first use.
+     */
+    static PatternDatabases shared() {
+        return Holder.SHARED;
+    }
+
+    long byteSize() {
+        return corners.byteSize() + firstEdges.byteSize() + secondEdges.byteSize()
+                + 2L * (cornerPermutationMoves.length + cornerTwistMoves.length) + edgeMoves.length;
+    }
+
+    /**
+     * Gets the admissible distance estimate for a state.
+     *
+     * @param cornerPermutation The corner permutation coordinate.
+     * @param cornerTwist       The corner twist coordinate.
+     * @param edges             {@code slot * 2 + flip} of each of the 12 edges, indexed by edge.
+     * @return A lower bound on the number of face turns needed to solve the state.
+     */
+    int estimate(int cornerPermutation, int cornerTwist, byte[] edges) {
+        int estimate = corners.get((long) cornerPermutation * CORNER_TWISTS + cornerTwist);
+        estimate = Math.max(estimate, firstEdges.get(edgeIndex(edges, 0)));
+        return Math.max(estimate, secondEdges.get(edgeIndex(edges, GROUP_EDGES)));
+    }
+
+    static byte[] solvedEdges() {
+        byte[] edges = new byte[CubieCube.EDGE_COUNT];
+        for (int edge = 0; edge < CubieCube.EDGE_COUNT; edge++) {
+            edges[edge] = (byte) (edge * 2);
+        }
+        return edges;
+    }
+
+    /**
+     * Ranks where six edges (starting at {@code first}) sit and how they are flipped.
+     */
+    static long edgeIndex(byte[] edges, int first) {
+        int placement = 0;
+        int flips = 0;
+        int used = 0;
+        for (int k = 0; k < GROUP_EDGES; k++) {
+            int slotAndFlip = edges[first + k];
+            int slot = slotAndFlip >> 1;
+            placement = placement * (CubieCube.EDGE_COUNT - k) + slot - Integer.bitCount(used & ((1 << slot) - 1));
+            used |= 1 << slot;
+            flips = (flips << 1) | (slotAndFlip & 1);
+        }
+        return (long) placement * EDGE_FLIPS + flips;
+    }
+
+    /**
+     * Inverse of {@link #edgeIndex(byte[], int)} for a group starting at 0.
+     */
+    static void decodeEdges(long index, byte[] edges) {
+        int flips = (int) (index % EDGE_FLIPS);
+        int placement = (int) (index / EDGE_FLIPS);
+        for (int k = GROUP_EDGES - 1; k >= 0; k--) {
+            edges[k] = (byte) (placement % (CubieCube.EDGE_COUNT - k));
+            placement /= CubieCube.EDGE_COUNT - k;
+        }
+        int used = 0;
+        for (int k = 0; k < GROUP_EDGES; k++) {
+            int remaining = edges[k];
+            int slot = 0;
+            while ((used & (1 << slot)) != 0 || remaining-- > 0) {
+                slot++;
+            }
+            used |= 1 << slot;
+            int flip = (flips >> (GROUP_EDGES - 1 - k)) & 1;
+            edges[k] = (byte) (slot * 2 + flip);
+        }
+    }
+
+    private void buildMoveTables() {
+        byte[] permutation = new byte[CubieCube.CORNER_COUNT];
+        byte[] moved = new byte[CubieCube.CORNER_COUNT];
+        for (int coordinate = 0; coordinate < CORNER_PERMUTATIONS; coordinate++) {
+            CubieCube.unrankPermutation(coordinate, permutation);
+            for (int move = 0; move < MOVE_COUNT; move++) {
+                CubieCube m = CubieCube.move(move);
+                for (int slot = 0; slot < CubieCube.CORNER_COUNT; slot++) {
+                    moved[slot] = permutation[m.cornerPermutation[slot]];
+                }
+                cornerPermutationMoves[coordinate * MOVE_COUNT + move] = (char) CubieCube.rankPermutation(moved);
+            }
+        }
+
+        byte[] twists = new byte[CubieCube.CORNER_COUNT];
+        for (int coordinate = 0; coordinate < CORNER_TWISTS; coordinate++) {
+            int remaining = coordinate;
+            int sum = 0;
+            for (int slot = CubieCube.CORNER_COUNT - 2; slot >= 0; slot--) {
+                twists[slot] = (byte) (remaining % 3);
+                sum += twists[slot];
+                remaining /= 3;
+            }
+            twists[CubieCube.CORNER_COUNT - 1] = (byte) ((3 - sum % 3) % 3);
+            for (int move = 0; move < MOVE_COUNT; move++) {
+                CubieCube m = CubieCube.move(move);
+                int result = 0;
+                for (int slot = 0; slot < CubieCube.CORNER_COUNT - 1; slot++) {
+                    result = result * 3 + (twists[m.cornerPermutation[slot]] + m.cornerOrientation[slot]) % 3;
+                }
+                cornerTwistMoves[coordinate * MOVE_COUNT + move] = (char) result;
+            }
+        }
+
+        for (int move = 0; move < MOVE_COUNT; move++) {
+            CubieCube m = CubieCube.move(move);
+            for (int slot = 0; slot < CubieCube.EDGE_COUNT; slot++) {
+                int from = m.edgePermutation[slot];
+                int flipChange = m.edgeOrientation[slot];
+                edgeMoves[move * 24 + from * 2] = (byte) (slot * 2 + flipChange);
+                edgeMoves[move * 24 + from * 2 + 1] = (byte) (slot * 2 + (1 - flipChange));
+            }
+        }
+    }
+
+    private void cornerNeighbors(long index, long[] neighbors) {
+        int permutation = (int) (index / CORNER_TWISTS);
+        int twist = (int) (index % CORNER_TWISTS);
+        for (int move = 0; move < MOVE_COUNT; move++) {
+            neighbors[move] = (long) cornerPermutationMoves[permutation * MOVE_COUNT + move] * CORNER_TWISTS
+                    + cornerTwistMoves[twist * MOVE_COUNT + move];
+        }
+    }
+
+    private void edgeNeighbors(long index, long[] neighbors) {
+        byte[][] scratch = EDGE_SCRATCH.get();
+        byte[] edges = scratch[0];
+        byte[] moved = scratch[1];
+        decodeEdges(index, edges);
+        for (int move = 0; move < MOVE_COUNT; move++) {
+            for (int k = 0; k < GROUP_EDGES; k++) {
+                moved[k] = edgeMoves[move * 24 + edges[k]];
+            }
+            neighbors[move] = edgeIndex(moved, 0);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+/**
+ * A position in a move sequence being played on a cube, which can step either way or jump to any step.
+ * <p>
+ * The facelets after every {@code interval}-th move, and after the last move, are saved when the playback is
+ * created, so seeking copies in the checkpoint nearest the target and replays or undoes at most
+ * {@code interval / 2} moves from it. A target closer to the current step than that is reached from the current
+ * step instead. The checkpoints take {@code (length / interval + 2)} times the cube's facelet count in bytes, and
+ * playback works the same on a {@link Cube} or an {@link NxNCube}.
+ * <p>
+ * The playback assumes it is the only thing changing its cube; after anything else does, create a new one.
+ */
+public final class Playback {
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 32;
+
+    private final MoveSequence sequence;
+    private final int interval;
+    private final int faceletCount;
+    private final byte[] checkpoints;
+    private final byte[] facelets;
+    private int step;
+
+    /**
+     * Starts a playback at step 0 from the cube's current state.
+     *
+     * @param cube     The cube to play on; its current state is step 0.
+     * @param sequence The moves to play.
+     * @param interval The number of moves between checkpoints.
+     * @throws IllegalArgumentException if the cube cannot play one of the moves; the cube is left as it was.
+     */
+    public Playback(FaceletCube cube, MoveSequence sequence, int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive: " + interval);
+        }
+        this.sequence = sequence;
+        this.interval = interval;
+        this.faceletCount = cube.getFaceletCount();
+        int last = sequence.length() / interval + 1;
+        this.checkpoints = new byte[(last + 1) * faceletCount];
+        this.facelets = new byte[faceletCount];
+
+        cube.copyFaceletsTo(checkpoints);
+        try {
+            for (int i = 0; i < sequence.length(); i++) {
+                cube.applyMove(sequence.moveAt(i));
+                if ((i + 1) % interval == 0) {
+                    cube.copyFaceletsTo(facelets);
+                    System.arraycopy(facelets, 0, checkpoints, (i + 1) / interval * faceletCount, faceletCount);
+                }
+            }
+            cube.copyFaceletsTo(facelets);
+            System.arraycopy(facelets, 0, checkpoints, last * faceletCount, faceletCount);
+        } finally {
+            System.arraycopy(checkpoints, 0, facelets, 0, faceletCount);
+            cube.setFacelets(facelets);
+        }
+    }
+
+    public Playback(FaceletCube cube, MoveSequence sequence) {
+        this(cube, sequence, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    public MoveSequence getSequence() {
+        return sequence;
+    }
+
+    public int length() {
+        return sequence.length();
+    }
+
+    /**
+     * Gets the number of moves applied so far.
+     */
+    public int getStep() {
+        return step;
+    }
+
+    public boolean isAtStart() {
+        return step == 0;
+    }
+
+    public boolean isAtEnd() {
+        return step == sequence.length();
+    }
+
+    /**
+     * Gets the move that took the cube to the current step.
+     *
+     * @return The move code, or -1 at step 0.
+     */
+    public int lastMove() {
+        return step == 0 ? -1 : sequence.moveAt(step - 1);
+    }
+
+    /**
+     * Applies the next move.
+     *
+     * @return The move applied.
+     * @throws IllegalStateException at the end of the sequence.
+     */
+    public int stepForward(FaceletCube cube) {
+        if (isAtEnd()) {
+            throw new IllegalStateException("Already at the end");
+        }
+        int move = sequence.moveAt(step++);
+        cube.applyMove(move);
+        return move;
+    }
+
+    /**
+     * Undoes the last move.
+     *
+     * @return The move applied to undo it.
+     * @throws IllegalStateException at step 0.
+     */
+    public int stepBackward(FaceletCube cube) {
+        if (isAtStart()) {
+            throw new IllegalStateException("Already at the start");
+        }
+        int undo = MoveSequence.inverseMove(sequence.moveAt(--step));
+        cube.applyMove(undo);
+        return undo;
+    }
+
+    /**
+     * Puts the cube in the state after {@code target} moves, from the current step or the nearest checkpoint,
+     * whichever needs fewer moves.
+     *
+     * @param target The step to go to, from 0 to {@link #length()}.
+     * @return The number of moves applied to get there.
+     */
+    public int seek(FaceletCube cube, int target) {
+        if (target < 0 || target > sequence.length()) {
+            throw new IndexOutOfBoundsException("Step " + target + " of " + sequence.length());
+        }
+        int checkpoint = target / interval;
+        if (target - checkpoint * interval > interval / 2) {
+            checkpoint++;
+        }
+        int checkpointStep = Math.min(checkpoint * interval, sequence.length());
+        if (Math.abs(target - step) > Math.abs(target - checkpointStep)) {
+            System.arraycopy(checkpoints, checkpoint * faceletCount, facelets, 0, faceletCount);
+            cube.setFacelets(facelets);
+            step = checkpointStep;
+        }
+
+        int applied = Math.abs(target - step);
+        while (step < target) {
+            stepForward(cube);
+        }
+        while (step > target) {
+            stepBackward(cube);
+        }
+        return applied;
+    }
+}
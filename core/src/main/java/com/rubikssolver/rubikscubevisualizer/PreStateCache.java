@@ -0,0 +1,168 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide cache of algorithm pre-states: the state an algorithm solves, reached by applying its inverse to
+ * a solved cube. Entries are computed on first use, so creating a {@link Cube} costs nothing, and can also be
+ * filled in parallel ahead of time with {@link #precomputeAll()}.
+ * <p>
+ * Each entry packs the 54 facelets at 3 bits apiece into three longs. Every entry can be rebuilt from
+ * {@link AlgorithmFactory}, so once the cache grows past its capacity the least recently used entries are
+ * simply dropped.
+ */
+public final class PreStateCache {
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final int BITS_PER_FACELET = 3;
+    private static final int FACELETS_PER_WORD = 21;
+    private static final int WORDS = 3;
+
+    private static final PreStateCache SHARED = new PreStateCache(DEFAULT_CAPACITY);
+
+    private final int capacity;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+
+    private static final class Entry {
+        final long[] packed;
+        volatile long lastUsed;
+
+        Entry(long[] packed, long lastUsed) {
+            this.packed = packed;
+            this.lastUsed = lastUsed;
+        }
+    }
+
+    /**
+     * Creates a cache that holds at most {@code capacity} pre-states.
+     *
+     * @param capacity The maximum number of entries kept.
+     */
+    public PreStateCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Gets the cache shared by every {@link Cube}.
+     *
+     * @return The process-wide cache.
+     */
+    public static PreStateCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Writes the pre-state of an algorithm into the given facelets, computing it if it is not cached yet.
+     *
+     * @param algorithmName The algorithm name.
+     * @param destination   Receives the 54 facelets of the pre-state.
+     */
+    public void copyPreState(String algorithmName, byte[] destination) {
+        Entry entry = entries.get(algorithmName);
+        if (entry == null) {
+            entry = load(algorithmName);
+        }
+        entry.lastUsed = clock.incrementAndGet();
+        unpack(entry.packed, destination);
+    }
+
+    /**
+     * Fills the cache for every algorithm in {@link AlgorithmFactory} on the common fork/join pool.
+     *
+     * @return A future that completes once every pre-state is cached.
+     */
+    public CompletableFuture<Void> precomputeAll() {
+        return precomputeAll(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Fills the cache for every algorithm in {@link AlgorithmFactory}, one task per algorithm.
+     *
+     * @param executor The executor to compute on.
+     * @return A future that completes once every pre-state is cached.
+     */
+    public CompletableFuture<Void> precomputeAll(Executor executor) {
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (String name : AlgorithmFactory.getAllAlgorithmNames()) {
+            tasks.add(CompletableFuture.runAsync(() -> load(name), executor));
+        }
+        return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0]));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    boolean contains(String algorithmName) {
+        return entries.containsKey(algorithmName);
+    }
+
+    /**
+     * Gets an entry, computing it if needed. A new entry is stamped as it is created, before any eviction, so
+     * it counts as the most recently used rather than the least.
+     */
+    private Entry load(String algorithmName) {
+        Entry entry = entries.computeIfAbsent(algorithmName, this::compute);
+        if (entries.size() > capacity) {
+            evict();
+        }
+        return entry;
+    }
+
+    private Entry compute(String algorithmName) {
+        Algorithm algorithm = AlgorithmFactory.getAlgorithm(algorithmName);
+        if (algorithm == null) {
+            throw new IllegalArgumentException("Algorithm not found: " + algorithmName);
+        }
+
+        FaceletPermutation inverse = algorithm.getInversePermutation();
+        long[] packed = new long[WORDS];
+        for (int i = 0; i < Cube.FACELET_COUNT; i++) {
+            long color = inverse.sourceOf(i) / 9;
+            packed[i / FACELETS_PER_WORD] |= color << (i % FACELETS_PER_WORD * BITS_PER_FACELET);
+        }
+        return new Entry(packed, clock.incrementAndGet());
+    }
+
+    private static void unpack(long[] packed, byte[] destination) {
+        for (int i = 0; i < Cube.FACELET_COUNT; i++) {
+            long word = packed[i / FACELETS_PER_WORD];
+            destination[i] = (byte) ((word >>> (i % FACELETS_PER_WORD * BITS_PER_FACELET)) & 0b111);
+        }
+    }
+
+    /**
+     * Drops the least recently used quarter of the cache. Runs only when an insertion overflows the capacity,
+     * so the scan is amortized over many lookups.
+     */
+    private synchronized void evict() {
+        int excess = entries.size() - capacity;
+        if (excess <= 0) {
+            return;
+        }
+
+        // Copy the timestamps first: lookups keep updating them and the sort needs a stable order.
+        int toRemove = Math.max(excess, capacity / 4);
+        List<Map.Entry<String, Long>> snapshot = new ArrayList<>(entries.size());
+        entries.forEach((name, entry) -> snapshot.add(Map.entry(name, entry.lastUsed)));
+        snapshot.sort(Map.Entry.comparingByValue());
+        for (int i = 0; i < toRemove && i < snapshot.size(); i++) {
+            entries.remove(snapshot.get(i).getKey());
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Reproducible scrambles, numbered from 0. Every scramble depends only on the seed and its number, so it is the
+ * same whether it is made alone, in a range, or by a parallel stream in any order.
+ * <p>
+ * Random-move scrambles are face turns only. They never turn the same face twice in a row, and two turns of
+ * opposite faces, which commute, only come in one order (U before D, R before L, F before B), so no scramble
+ * has a shorter equivalent made by merging or reordering neighbors. They come in blocks of
+ * {@value #BLOCK_SIZE}, each drawn in order from one {@link SplittableRandom} seeded from the seed and the block
+ * number. Filling a caller's buffer allocates one generator per block and nothing per scramble, so ranges of tens
+ * of millions stream at the speed of the random draws. Making a single scramble replays its block up to it.
+ * <p>
+ * Random-state scrambles pick a state uniformly from all 43 quintillion, from a generator of their own, and
+ * return the inverse of the first {@link TwoPhaseSolver} solution of at most
+ * {@value TwoPhaseSolver#DEFAULT_MAX_LENGTH} moves. Each costs a solve, milliseconds rather than nanoseconds; use
+ * them where the distribution matters more than the rate.
+ */
+public final class ScrambleGenerator {
+    public static final int DEFAULT_LENGTH = 25;
+    public static final int BLOCK_SIZE = 256;
+
+    private static final int FACE_COUNT = 6;
+
+    /**
+     * Random-state solves get no time to improve on their first solution, so they stop after a fixed number of
+     * nodes and the scramble depends on the state alone, not on how fast the machine is.
+     */
+    private static final long STATE_TIME_BUDGET_MILLIS = 0;
+
+    /**
+     * Keeps the generators of random-state scrambles apart from those of random-move blocks.
+     */
+    private static final long STATE_STREAM = 0x5CA7_B1E5_0000_0000L;
+
+    /**
+     * The notation of each face turn followed by a space, as bytes for writing.
+     */
+    private static final byte[][] MOVE_BYTES = new byte[MoveTables.FACE_MOVE_COUNT][];
+
+    /**
+     * The face turns allowed at the start of a scramble (row 0) and after a turn of face {@code f} (row
+     * {@code f + 1}): not the same face again, and a face on the same axis only in ascending order.
+     */
+    private static final byte[][] FOLLOWERS = new byte[FACE_COUNT + 1][];
+
+    static {
+        for (int move = 0; move < MOVE_BYTES.length; move++) {
+            MOVE_BYTES[move] = (MoveSequence.moveName(move) + " ").getBytes(StandardCharsets.US_ASCII);
+        }
+        for (int previous = -1; previous < FACE_COUNT; previous++) {
+            byte[] followers = new byte[MoveTables.FACE_MOVE_COUNT];
+            int count = 0;
+            for (int move = 0; move < MoveTables.FACE_MOVE_COUNT; move++) {
+                int face = move / 3;
+                if (previous < 0 || face % 3 != previous % 3 || face > previous) {
+                    followers[count++] = (byte) move;
+                }
+            }
+            FOLLOWERS[previous + 1] = Arrays.copyOf(followers, count);
+        }
+    }
+
+    private final long seed;
+    private final int length;
+    private final ThreadLocal<TwoPhaseSolver> solvers = ThreadLocal.withInitial(TwoPhaseSolver::new);
+
+    /**
+     * @param seed   The seed every scramble is derived from.
+     * @param length The number of moves in each random-move scramble.
+     */
+    public ScrambleGenerator(long seed, int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Scramble length must not be negative: " + length);
+        }
+        this.seed = seed;
+        this.length = length;
+    }
+
+    public ScrambleGenerator(long seed) {
+        this(seed, DEFAULT_LENGTH);
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Writes consecutive random-move scrambles into a caller-owned buffer, one after another.
+     *
+     * @param first The number of the first scramble.
+     * @param count How many scrambles to make.
+     * @param codes Receives {@code count * getLength()} move codes from index 0.
+     */
+    public void randomMoves(long first, int count, byte[] codes) {
+        SplittableRandom random = null;
+        for (int n = 0; n < count; n++) {
+            long index = first + n;
+            if (random == null || index % BLOCK_SIZE == 0) {
+                random = mix(seed, index / BLOCK_SIZE);
+                // Replay the block up to the first scramble, into the space that scramble is about to fill.
+                for (long skipped = index % BLOCK_SIZE; skipped > 0; skipped--) {
+                    next(random, codes, n * length);
+                }
+            }
+            next(random, codes, n * length);
+        }
+    }
+
+    /**
+     * Makes one random-move scramble.
+     *
+     * @param index The number of the scramble.
+     * @return The scramble.
+     */
+    public MoveSequence randomMoves(long index) {
+        byte[] codes = new byte[length];
+        randomMoves(index, 1, codes);
+        return MoveSequence.ofCodes(codes);
+    }
+
+    /**
+     * Streams random-move scrambles. Each block is made in one pass, so a parallel stream splits the work by
+     * block and still yields the same scrambles in the same order.
+     *
+     * @param first The number of the first scramble.
+     * @param count How many scrambles to make.
+     */
+    public Stream<MoveSequence> randomMoves(long first, long count) {
+        long end = first + count;
+        long lastBlock = count == 0 ? first / BLOCK_SIZE : (end - 1) / BLOCK_SIZE + 1;
+        return LongStream.range(first / BLOCK_SIZE, lastBlock).boxed().flatMap(block -> {
+            long from = Math.max(first, block * BLOCK_SIZE);
+            int blockCount = (int) (Math.min(end, (block + 1) * BLOCK_SIZE) - from);
+            byte[] codes = new byte[blockCount * length];
+            randomMoves(from, blockCount, codes);
+            return IntStream.range(0, blockCount).mapToObj(n -> MoveSequence.ofCodes(codes, n * length, length));
+        });
+    }
+
+    /**
+     * Makes a scramble that leads to a uniformly random state.
+     *
+     * @param index The number of the scramble.
+     * @return The scramble.
+     */
+    public MoveSequence randomState(long index) {
+        SplittableRandom random = mix(seed ^ STATE_STREAM, index);
+        CubieCube state = new CubieCube();
+        shuffle(state.cornerPermutation, random);
+        shuffle(state.edgePermutation, random);
+        if (CubieCube.parity(state.cornerPermutation) != CubieCube.parity(state.edgePermutation)) {
+            byte swap = state.edgePermutation[0];
+            state.edgePermutation[0] = state.edgePermutation[1];
+            state.edgePermutation[1] = swap;
+        }
+        randomizeOrientation(state.cornerOrientation, 3, random);
+        randomizeOrientation(state.edgeOrientation, 2, random);
+
+        MoveSequence solution = solvers.get().solve(state, TwoPhaseSolver.DEFAULT_MAX_LENGTH,
+                STATE_TIME_BUDGET_MILLIS, true, null);
+        return solution.inverse();
+    }
+
+    /**
+     * Streams random-state scrambles. Solving dominates, so a parallel stream speeds this up about as many times
+     * as there are cores.
+     *
+     * @param first The number of the first scramble.
+     * @param count How many scrambles to make.
+     */
+    public Stream<MoveSequence> randomStates(long first, long count) {
+        return LongStream.range(first, first + count).mapToObj(this::randomState);
+    }
+
+    /**
+     * Writes random-move scrambles as notation, one per line. Moves are encoded from precomputed bytes into
+     * buffers reused for the whole call.
+     *
+     * @param out   The stream to write to; it is neither buffered further nor closed.
+     * @param first The number of the first scramble.
+     * @param count How many scrambles to write.
+     * @throws IOException if writing fails.
+     */
+    public void write(OutputStream out, long first, long count) throws IOException {
+        byte[] codes = new byte[BLOCK_SIZE * length];
+        byte[] buffer = new byte[BLOCK_SIZE * (length * 3 + 1)];
+        long end = first + count;
+        for (long from = first; from < end; ) {
+            int blockCount = (int) Math.min(end - from, BLOCK_SIZE - from % BLOCK_SIZE);
+            randomMoves(from, blockCount, codes);
+
+            int position = 0;
+            for (int n = 0; n < blockCount; n++) {
+                for (int i = n * length; i < (n + 1) * length; i++) {
+                    byte[] name = MOVE_BYTES[codes[i]];
+                    System.arraycopy(name, 0, buffer, position, name.length);
+                    position += name.length;
+                }
+                if (length > 0) {
+                    position--;
+                }
+                buffer[position++] = '\n';
+            }
+            out.write(buffer, 0, position);
+            from += blockCount;
+        }
+    }
+
+    /**
+     * Draws the next scramble from a block's generator into {@code codes} at {@code offset}.
+     */
+    private void next(SplittableRandom random, byte[] codes, int offset) {
+        byte[] followers = FOLLOWERS[0];
+        for (int i = offset, end = offset + length; i < end; i++) {
+            byte move = followers[random.nextInt(followers.length)];
+            codes[i] = move;
+            followers = FOLLOWERS[move / 3 + 1];
+        }
+    }
+
+    /**
+     * Creates the generator for one number under a seed. The two are mixed with the MurmurHash3 finalizer, so
+     * neighboring numbers get unrelated streams rather than overlapping ones.
+     */
+    private static SplittableRandom mix(long seed, long number) {
+        long z = seed + number * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return new SplittableRandom(z ^ (z >>> 33));
+    }
+
+    private static void shuffle(byte[] permutation, SplittableRandom random) {
+        for (int i = permutation.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte swap = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = swap;
+        }
+    }
+
+    /**
+     * Picks every orientation but the last at random and sets the last so they sum to a multiple of
+     * {@code states}, as on a real cube.
+     */
+    private static void randomizeOrientation(byte[] orientation, int states, SplittableRandom random) {
+        int sum = 0;
+        for (int i = 0; i < orientation.length - 1; i++) {
+            orientation[i] = (byte) random.nextInt(states);
+            sum += orientation[i];
+        }
+        orientation[orientation.length - 1] = (byte) ((states - sum % states) % states);
+    }
+}
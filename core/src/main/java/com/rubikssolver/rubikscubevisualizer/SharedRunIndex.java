@@ -0,0 +1,201 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An inverted index over move sequences that finds which sequences share a run of consecutive moves with a given
+ * one, without comparing it against every other sequence.
+ * <p>
+ * Every run of {@code gramLength} moves (an n-gram) is packed, 6 bits per move code, into a long key, and each key
+ * maps to the list of places it occurs. A query looks up the n-grams of its sequence; each hit lines up the query
+ * with another sequence at some offset, and only hits that start a run are extended move by move to measure it.
+ * The cost is proportional to the number of shared n-grams rather than to the size of the library. Sequences can
+ * be added one at a time, and queries may ask for any minimum run length: from {@code gramLength} up the index
+ * is used, below it every sequence is scanned. Not thread-safe.
+ */
+public final class SharedRunIndex {
+    public static final int DEFAULT_GRAM_LENGTH = 5;
+
+    private static final int BITS_PER_MOVE = 6;
+    private static final int MAX_GRAM_LENGTH = Long.SIZE / BITS_PER_MOVE;
+    private static final int NO_POSTING = -1;
+
+    private final int gramLength;
+    private final List<byte[]> sequences = new ArrayList<>();
+
+    /**
+     * The n-gram keys, each mapped to a dense gram number, and for each gram number the first of its postings.
+     * Postings are linked lists over flat arrays: the sequence and offset of an occurrence, and the next one.
+     */
+    private final LongIntHashMap grams = new LongIntHashMap(1024);
+    private int[] firstPosting = new int[1024];
+    private int[] postingSequence = new int[4096];
+    private int[] postingOffset = new int[4096];
+    private int[] nextPosting = new int[4096];
+    private int postingCount;
+
+    /**
+     * Marks which sequences the current query has already reported, by query number, so results come out
+     * without duplicates and without clearing a set between queries.
+     */
+    private int[] reportedBy = new int[64];
+    private int queryCount;
+
+    public SharedRunIndex() {
+        this(DEFAULT_GRAM_LENGTH);
+    }
+
+    /**
+     * @param gramLength The n-gram length, 1 to 10; the shortest run the index answers without scanning.
+     */
+    public SharedRunIndex(int gramLength) {
+        if (gramLength < 1 || gramLength > MAX_GRAM_LENGTH) {
+            throw new IllegalArgumentException("Gram length must be between 1 and " + MAX_GRAM_LENGTH);
+        }
+        this.gramLength = gramLength;
+    }
+
+    /**
+     * Indexes a sequence.
+     *
+     * @return Its id: 0 for the first sequence added, 1 for the next and so on.
+     */
+    public int add(MoveSequence sequence) {
+        int id = sequences.size();
+        byte[] moves = sequence.toCodes();
+        sequences.add(moves);
+        if (reportedBy.length == id) {
+            reportedBy = Arrays.copyOf(reportedBy, id * 2);
+        }
+
+        for (int offset = 0; offset + gramLength <= moves.length; offset++) {
+            long key = gramKey(moves, offset);
+            int gram = grams.get(key, NO_POSTING);
+            if (gram == NO_POSTING) {
+                gram = grams.size();
+                grams.putIfAbsent(key, gram);
+                if (gram == firstPosting.length) {
+                    firstPosting = Arrays.copyOf(firstPosting, gram * 2);
+                }
+                firstPosting[gram] = NO_POSTING;
+            }
+            addPosting(gram, id, offset);
+        }
+        return id;
+    }
+
+    public int size() {
+        return sequences.size();
+    }
+
+    /**
+     * Finds the indexed sequences, other than {@code id} itself, that share a run of at least {@code minLength}
+     * consecutive moves with sequence {@code id}.
+     *
+     * @return The ids, in ascending order.
+     */
+    public int[] matches(int id, int minLength) {
+        return matches(sequences.get(id), id, minLength);
+    }
+
+    /**
+     * Finds the indexed sequences that share a run of at least {@code minLength} consecutive moves with a
+     * sequence that need not be indexed.
+     *
+     * @return The ids, in ascending order.
+     */
+    public int[] matches(MoveSequence sequence, int minLength) {
+        return matches(sequence.toCodes(), -1, minLength);
+    }
+
+    private int[] matches(byte[] query, int self, int minLength) {
+        if (minLength < 1) {
+            throw new IllegalArgumentException("Minimum length must be positive: " + minLength);
+        }
+        int stamp = ++queryCount;
+        int[] found = new int[8];
+        int count = 0;
+
+        if (minLength < gramLength) {
+            for (int other = 0; other < sequences.size(); other++) {
+                if (other != self && sharesRun(query, sequences.get(other), minLength)) {
+                    found = append(found, count++, other);
+                }
+            }
+            return Arrays.copyOf(found, count);
+        }
+
+        for (int offset = 0; offset + minLength <= query.length; offset++) {
+            int gram = grams.get(gramKey(query, offset), NO_POSTING);
+            if (gram == NO_POSTING) {
+                continue;
+            }
+            for (int p = firstPosting[gram]; p != NO_POSTING; p = nextPosting[p]) {
+                int other = postingSequence[p];
+                if (other == self || reportedBy[other] == stamp) {
+                    continue;
+                }
+                byte[] moves = sequences.get(other);
+                int otherOffset = postingOffset[p];
+                boolean startsRun = offset == 0 || otherOffset == 0 || query[offset - 1] != moves[otherOffset - 1];
+                if (startsRun && runLength(query, offset, moves, otherOffset) >= minLength) {
+                    reportedBy[other] = stamp;
+                    found = append(found, count++, other);
+                }
+            }
+        }
+        int[] result = Arrays.copyOf(found, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private void addPosting(int gram, int sequence, int offset) {
+        int p = postingCount++;
+        if (p == nextPosting.length) {
+            postingSequence = Arrays.copyOf(postingSequence, p * 2);
+            postingOffset = Arrays.copyOf(postingOffset, p * 2);
+            nextPosting = Arrays.copyOf(nextPosting, p * 2);
+        }
+        postingSequence[p] = sequence;
+        postingOffset[p] = offset;
+        nextPosting[p] = firstPosting[gram];
+        firstPosting[gram] = p;
+    }
+
+    private long gramKey(byte[] moves, int offset) {
+        long key = 0;
+        for (int i = 0; i < gramLength; i++) {
+            key = key << BITS_PER_MOVE | moves[offset + i];
+        }
+        return key;
+    }
+
+    private static boolean sharesRun(byte[] a, byte[] b, int minLength) {
+        for (int i = 0; i + minLength <= a.length; i++) {
+            for (int j = 0; j + minLength <= b.length; j++) {
+                if (runLength(a, i, b, j) >= minLength) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int runLength(byte[] a, int i, byte[] b, int j) {
+        int length = 0;
+        while (i + length < a.length && j + length < b.length && a[i + length] == b[j + length]) {
+            length++;
+        }
+        return length;
+    }
+
+    private static int[] append(int[] array, int index, int value) {
+        if (index == array.length) {
+            array = Arrays.copyOf(array, index * 2);
+        }
+        array[index] = value;
+        return array;
+    }
+}
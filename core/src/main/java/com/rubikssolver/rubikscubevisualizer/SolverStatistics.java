@@ -0,0 +1,151 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+/**
+ * Figures from one solver run, for sizing machines and spotting regressions.
+ */
+public final class SolverStatistics {
+    private final long nodes;
+    private final long elapsedNanos;
+    private final int solutionLength;
+    private final long tableBytes;
+    private final long peakHeapBytes;
+    private final long[] workerNodes;
+    private final MoveCount rawMoveCount;
+    private final MoveCount moveCount;
+
+    public SolverStatistics(long nodes, long elapsedNanos, int solutionLength, long tableBytes) {
+        this(nodes, elapsedNanos, solutionLength, tableBytes, new long[]{nodes});
+    }
+
+    /**
+     * Creates the figures for a run spread over several threads.
+     *
+     * @param workerNodes The nodes visited by each thread that took part.
+     */
+    public SolverStatistics(long nodes, long elapsedNanos, int solutionLength, long tableBytes, long[] workerNodes) {
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+        this.solutionLength = solutionLength;
+        this.tableBytes = tableBytes;
+        this.peakHeapBytes = peakHeapUsage();
+        this.workerNodes = workerNodes.clone();
+        this.rawMoveCount = null;
+        this.moveCount = null;
+    }
+
+    /**
+     * Creates the figures for a run whose solution was simplified before being returned.
+     *
+     * @param found    The solution as the search found it, or null if it gave up.
+     * @param solution The simplified solution, or null if the search gave up.
+     */
+    public SolverStatistics(long nodes, long elapsedNanos, MoveSequence found, MoveSequence solution,
+                            long tableBytes, long[] workerNodes) {
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+        this.solutionLength = solution == null ? -1 : solution.length();
+        this.tableBytes = tableBytes;
+        this.peakHeapBytes = peakHeapUsage();
+        this.workerNodes = workerNodes.clone();
+        this.rawMoveCount = found == null ? null : MoveCount.of(found);
+        this.moveCount = solution == null ? null : MoveCount.of(solution);
+    }
+
+    /**
+     * Gets the number of search nodes visited.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Gets the nodes visited by each thread that took part, one entry for a single-threaded search.
+     */
+    public long[] getWorkerNodes() {
+        return workerNodes.clone();
+    }
+
+    /**
+     * Gets how evenly the nodes were spread: the average per worker over the busiest worker's count, 1 when
+     * perfectly balanced.
+     */
+    public double getWorkerBalance() {
+        long busiest = 0;
+        for (long count : workerNodes) {
+            busiest = Math.max(busiest, count);
+        }
+        return busiest == 0 ? 1 : (double) nodes / workerNodes.length / busiest;
+    }
+
+    /**
+     * Gets the length of the solution found, or -1 if the search gave up.
+     */
+    public int getSolutionLength() {
+        return solutionLength;
+    }
+
+    /**
+     * Gets the length of the solution as the search found it, before {@link MoveSimplifier} ran, or null if
+     * the search gave up.
+     */
+    public MoveCount getRawMoveCount() {
+        return rawMoveCount;
+    }
+
+    /**
+     * Gets the length of the simplified solution that was returned, or null if the search gave up.
+     */
+    public MoveCount getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Gets the memory held by the solver's precomputed tables.
+     */
+    public long getTableBytes() {
+        return tableBytes;
+    }
+
+    /**
+     * Gets the JVM-wide peak heap usage, summed over all heap pools, as of the end of the run.
+     */
+    public long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    private static long peakHeapUsage() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    @Override
+    public String toString() {
+        String summary = String.format("%d moves, %d nodes in %.1f ms (%.0f nodes/s), tables %d MB, peak heap %d MB",
+                solutionLength, nodes, elapsedNanos / 1e6, getNodesPerSecond(),
+                tableBytes >> 20, peakHeapBytes >> 20);
+        if (moveCount != null && !moveCount.equals(rawMoveCount)) {
+            summary += ", simplified from " + rawMoveCount + " to " + moveCount;
+        }
+        if (workerNodes.length > 1) {
+            summary += String.format(", %d workers, balance %.2f", workerNodes.length, getWorkerBalance());
+        }
+        return summary;
+    }
+}
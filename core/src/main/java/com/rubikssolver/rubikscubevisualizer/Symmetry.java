@@ -0,0 +1,229 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The 48 symmetries of the cube, the 24 whole-cube rotations each with and without a mirror image, and the
+ * conjugation tables that let states and moves be carried through them.
+ * <p>
+ * Conjugating a state by a symmetry turns (and possibly mirrors) the whole cube, then renames the colors so the
+ * centers read as solved again. Two states that conjugate into each other are the same problem seen from another
+ * side: they are the same distance from solved, and a solution of one conjugates into a solution of the other.
+ * {@link #canonicalize(byte[], byte[])} picks the smallest of the up to 48 conjugates as the representative of the
+ * whole class, so caches and tables keyed on representatives need up to 48 times fewer entries; see
+ * {@link SymmetryClassIndex}.
+ * <p>
+ * Symmetries 0-23 are rotations, 0 being the identity; {@code s + 24} is rotation {@code s} followed by the
+ * mirror image through the plane between L and R. Mirrored symmetries turn clockwise moves into
+ * counter-clockwise ones.
+ */
+public final class Symmetry {
+    public static final int COUNT = 48;
+    public static final int IDENTITY = 0;
+
+    private static final int ROTATIONS = 24;
+    private static final int COLORS = 6;
+
+    /**
+     * Per symmetry: the gather table of facelet positions, the color renaming, the inverse symmetry and the
+     * conjugate of every move code.
+     */
+    private static final int[][] SOURCE = new int[COUNT][];
+    private static final byte[][] COLOR_MAP = new byte[COUNT][COLORS];
+    private static final int[] INVERSE = new int[COUNT];
+    private static final byte[][] MOVE_MAP = new byte[COUNT][MoveTables.MOVE_COUNT];
+
+    static {
+        List<int[]> rotations = new ArrayList<>(ROTATIONS);
+        int[] identity = new int[Cube.FACELET_COUNT];
+        for (int i = 0; i < identity.length; i++) {
+            identity[i] = i;
+        }
+        rotations.add(identity);
+        int[] generators = {MoveSequence.parseMove("x"), MoveSequence.parseMove("y")};
+        for (int next = 0; next < rotations.size(); next++) {
+            for (int generator : generators) {
+                int[] rotation = MoveTables.compose(rotations.get(next), MoveTables.source(generator));
+                if (indexOf(rotations, rotation) < 0) {
+                    rotations.add(rotation);
+                }
+            }
+        }
+        if (rotations.size() != ROTATIONS) {
+            throw new IllegalStateException("Expected " + ROTATIONS + " rotations, found " + rotations.size());
+        }
+
+        int[] mirror = MoveTables.mirrorSource();
+        List<int[]> symmetries = new ArrayList<>(rotations);
+        for (int[] rotation : rotations) {
+            symmetries.add(MoveTables.compose(rotation, mirror));
+        }
+
+        for (int s = 0; s < COUNT; s++) {
+            int[] source = symmetries.get(s);
+            SOURCE[s] = source;
+            for (int i = 0; i < Cube.FACELET_COUNT; i++) {
+                if (i % 9 == 4) {
+                    COLOR_MAP[s][source[i] / 9] = (byte) (i / 9);
+                }
+            }
+        }
+
+        for (int s = 0; s < COUNT; s++) {
+            int[] source = SOURCE[s];
+            int[] target = inverseOf(source);
+            INVERSE[s] = indexOf(symmetries, target);
+            for (int move = 0; move < MoveTables.MOVE_COUNT; move++) {
+                int[] moveSource = MoveTables.source(move);
+                int[] conjugate = new int[Cube.FACELET_COUNT];
+                for (int i = 0; i < Cube.FACELET_COUNT; i++) {
+                    conjugate[i] = target[moveSource[source[i]]];
+                }
+                MOVE_MAP[s][move] = (byte) moveWithSource(conjugate);
+            }
+        }
+    }
+
+    private Symmetry() {
+    }
+
+    /**
+     * Conjugates a state by a symmetry.
+     *
+     * @param facelets    The 54 facelets of the state.
+     * @param symmetry    The symmetry index, 0 to 47.
+     * @param destination Receives the conjugated facelets; must not be {@code facelets}.
+     */
+    public static void conjugate(byte[] facelets, int symmetry, byte[] destination) {
+        int[] source = SOURCE[symmetry];
+        byte[] colors = COLOR_MAP[symmetry];
+        for (int i = 0; i < Cube.FACELET_COUNT; i++) {
+            destination[i] = colors[facelets[source[i]]];
+        }
+    }
+
+    /**
+     * Gets the move that does to a conjugated state what {@code move} does to the original: conjugating and then
+     * applying the result is the same as applying {@code move} and then conjugating.
+     *
+     * @param symmetry The symmetry index.
+     * @param move     The move code.
+     * @return The conjugated move code.
+     */
+    public static int conjugateMove(int symmetry, int move) {
+        return MOVE_MAP[symmetry][move];
+    }
+
+    /**
+     * Conjugates every move of a sequence. A solution for a representative found with
+     * {@link #canonicalize(byte[], byte[])} becomes a solution for the original state when conjugated by
+     * {@code inverse(symmetry)}.
+     */
+    public static MoveSequence conjugate(MoveSequence sequence, int symmetry) {
+        byte[] moves = sequence.toCodes();
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = MOVE_MAP[symmetry][moves[i]];
+        }
+        return MoveSequence.ofCodes(moves);
+    }
+
+    public static int inverse(int symmetry) {
+        return INVERSE[symmetry];
+    }
+
+    public static boolean isMirrored(int symmetry) {
+        return symmetry >= ROTATIONS;
+    }
+
+    /**
+     * Finds the representative of a state's class: the smallest of its conjugates, comparing facelets in order.
+     * Conjugates are compared as they are generated, so most are rejected after a few facelets and nothing is
+     * allocated.
+     *
+     * @param facelets       The 54 facelets of the state.
+     * @param representative Receives the representative; must not be {@code facelets}.
+     * @return The symmetry that conjugates the state into its representative.
+     */
+    public static int canonicalize(byte[] facelets, byte[] representative) {
+        return search(facelets, representative) & 0xFF;
+    }
+
+    /**
+     * Gets the Zobrist hash of a state's representative, which is the same for every state in the class and
+     * suits as a key for {@link TranspositionTable} or {@link SymmetryClassIndex}.
+     *
+     * @param facelets The 54 facelets of the state.
+     * @param scratch  54 bytes the representative is built in.
+     */
+    public static long canonicalHash(byte[] facelets, byte[] scratch) {
+        search(facelets, scratch);
+        return Zobrist.hash(scratch);
+    }
+
+    /**
+     * Counts the distinct states in a state's class: 48 divided by the number of symmetries that leave it
+     * unchanged. Only highly regular states, such as the solved cube, have fewer than 48.
+     */
+    public static int classSize(byte[] facelets) {
+        return COUNT / (search(facelets, new byte[Cube.FACELET_COUNT]) >>> 8);
+    }
+
+    /**
+     * Runs the canonical search.
+     *
+     * @return The symmetry of the representative in the low byte, and above it the number of symmetries that
+     * produce the representative, which is the size of the state's stabilizer.
+     */
+    static int search(byte[] facelets, byte[] representative) {
+        System.arraycopy(facelets, 0, representative, 0, Cube.FACELET_COUNT);
+        int best = IDENTITY;
+        int ties = 1;
+        for (int s = 1; s < COUNT; s++) {
+            int[] source = SOURCE[s];
+            byte[] colors = COLOR_MAP[s];
+            int i = 0;
+            byte color = colors[facelets[source[0]]];
+            while (color == representative[i] && ++i < Cube.FACELET_COUNT) {
+                color = colors[facelets[source[i]]];
+            }
+            if (i == Cube.FACELET_COUNT) {
+                ties++;
+            } else if (color < representative[i]) {
+                best = s;
+                ties = 1;
+                for (; i < Cube.FACELET_COUNT; i++) {
+                    representative[i] = colors[facelets[source[i]]];
+                }
+            }
+        }
+        return ties << 8 | best;
+    }
+
+    private static int moveWithSource(int[] source) {
+        for (int move = 0; move < MoveTables.MOVE_COUNT; move++) {
+            if (Arrays.equals(MoveTables.source(move), source)) {
+                return move;
+            }
+        }
+        throw new IllegalStateException("Conjugated move is not a move");
+    }
+
+    private static int[] inverseOf(int[] source) {
+        int[] inverse = new int[source.length];
+        for (int i = 0; i < source.length; i++) {
+            inverse[source[i]] = i;
+        }
+        return inverse;
+    }
+
+    private static int indexOf(List<int[]> permutations, int[] permutation) {
+        for (int i = 0; i < permutations.size(); i++) {
+            if (Arrays.equals(permutations.get(i), permutation)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
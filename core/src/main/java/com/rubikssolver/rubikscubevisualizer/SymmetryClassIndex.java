@@ -0,0 +1,86 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+/**
+ * Numbers states by their class under the 48 cube symmetries, so a cache or distance table can keep one entry per
+ * class in a plain array and serve every state of the class from it.
+ * <p>
+ * Classes are keyed on the Zobrist hash of their representative (see {@link Symmetry#canonicalHash}); like any
+ * 64-bit hash key, two classes could in principle collide. As each class is added the index also counts how many
+ * distinct states it covers, so {@link #getReductionRatio()} reports the saving actually achieved rather than
+ * the best case of 48. Not thread-safe.
+ */
+public final class SymmetryClassIndex {
+    public static final int NOT_FOUND = -1;
+
+    private final LongIntHashMap classes;
+    private final byte[] state = new byte[Cube.FACELET_COUNT];
+    private final byte[] representative = new byte[Cube.FACELET_COUNT];
+    private long statesCovered;
+
+    /**
+     * Creates an empty index sized for about {@code expectedClasses} classes; it grows past that if needed.
+     */
+    public SymmetryClassIndex(int expectedClasses) {
+        classes = new LongIntHashMap(expectedClasses);
+    }
+
+    /**
+     * Adds the class of a state unless it is already present.
+     *
+     * @param facelets The 54 facelets of any state in the class.
+     * @return The class number: 0 for the first class added, 1 for the next and so on.
+     */
+    public int add(byte[] facelets) {
+        int stabilizer = Symmetry.search(facelets, representative) >>> 8;
+        long key = keyOf(representative);
+        int id = classes.get(key, NOT_FOUND);
+        if (id != NOT_FOUND) {
+            return id;
+        }
+        id = classes.size();
+        classes.putIfAbsent(key, id);
+        statesCovered += Symmetry.COUNT / stabilizer;
+        return id;
+    }
+
+    /**
+     * Looks up the class of a state.
+     *
+     * @return The class number, or {@link #NOT_FOUND}.
+     */
+    public int classOf(byte[] facelets) {
+        Symmetry.search(facelets, representative);
+        return classes.get(keyOf(representative), NOT_FOUND);
+    }
+
+    public int classOf(Cube cube) {
+        cube.copyFaceletsTo(state);
+        return classOf(state);
+    }
+
+    /**
+     * Gets the number of classes, which is the number of entries a table keyed by this index needs.
+     */
+    public int size() {
+        return classes.size();
+    }
+
+    /**
+     * Gets the number of distinct states the classes contain, which is the number of entries a table keyed by
+     * state would need.
+     */
+    public long getStatesCovered() {
+        return statesCovered;
+    }
+
+    /**
+     * Gets how many states each entry stands for on average, between 1 and {@link Symmetry#COUNT}.
+     */
+    public double getReductionRatio() {
+        return classes.size() == 0 ? 1 : (double) statesCovered / classes.size();
+    }
+
+    private static long keyOf(byte[] representative) {
+        return Zobrist.hash(representative) & Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,284 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+
+/**
+ * The on-disk format for precomputed solver tables and compiled algorithm libraries, so they are generated once
+ * and afterwards only mapped.
+ * <p>
+ * A file holds a list of raw sections, each one table's bytes in native order:
+ * <pre>
+ *   0  magic "RCVTABLE"            8 bytes
+ *   8  format version              4 bytes
+ *  12  table version               4 bytes, bumped by the owner whenever its contents change
+ *  16  byte order                  4 bytes, 0 for little-endian, 1 for big-endian
+ *  20  section count               4 bytes
+ *  24  checksum                    8 bytes, CRC32C of everything after the header
+ *  64  section directory           16 bytes per section: its offset and length, 8 bytes each
+ *      sections, each starting on a 64-byte boundary
+ * </pre>
+ * Files live in the directory named by the {@code rubikscube.tables} system property, by default
+ * {@code ~/.rubikscubevisualizer/tables}. A file that is missing, corrupt or stale (wrong version, byte order or
+ * section sizes) is rebuilt and rewritten; if it cannot be written the freshly built tables are used anyway.
+ * <p>
+ * Checksumming a whole file would read every page of it on every start, so a file whose checksum has passed once,
+ * or which was written by this class, gets a {@code .verified} file next to it holding its size, modification time
+ * and checksum. While those still match, only the header and directory are checked when the file is mapped.
+ */
+final class TableFile {
+    static final long MAGIC = 0x454C424154564352L;
+    static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_SIZE = 64;
+    private static final int ALIGNMENT = 64;
+    private static final int CHECKSUM_CHUNK = 1 << 16;
+    private static final int STAMP_SIZE = 24;
+
+    private TableFile() {
+    }
+
+    /**
+     * Gets the directory table files are kept in.
+     */
+    static Path directory() {
+        String configured = System.getProperty("rubikscube.tables");
+        if (configured != null) {
+            return Path.of(configured);
+        }
+        return Path.of(System.getProperty("user.home"), ".rubikscubevisualizer", "tables");
+    }
+
+    /**
+     * Maps a table file, or builds its sections and saves them if the file is not usable.
+     *
+     * @param name         The file name, without directory.
+     * @param version      The owner's table version; a file with any other version is rebuilt.
+     * @param sectionBytes The expected size of each section.
+     * @param build        Generates the sections, in order, with the expected sizes.
+     * @return The sections: read-only mapped segments when the file was valid, otherwise the built ones.
+     */
+    static List<MemorySegment> load(String name, int version, long[] sectionBytes,
+                                    Supplier<List<MemorySegment>> build) {
+        Path path = directory().resolve(name);
+        if (Files.exists(path)) {
+            try {
+                List<MemorySegment> sections = map(path, version, sectionBytes);
+                if (sections != null) {
+                    return sections;
+                }
+                logger().log(System.Logger.Level.INFO, "Rebuilding stale or corrupt table file {0}", path);
+            } catch (IOException e) {
+                logger().log(System.Logger.Level.INFO, "Rebuilding unreadable table file " + path, e);
+            }
+        }
+
+        List<MemorySegment> sections = build.get();
+        try {
+            write(path, version, sections);
+        } catch (IOException e) {
+            logger().log(System.Logger.Level.WARNING, "Could not save table file " + path, e);
+        }
+        return sections;
+    }
+
+    /**
+     * Maps and validates a table file.
+     *
+     * @return The sections, or null if the file is corrupt or does not match the expected version and sizes.
+     */
+    static List<MemorySegment> map(Path path, int version, long[] sectionBytes) throws IOException {
+        return map(path, version, sectionBytes.length, sectionBytes);
+    }
+
+    /**
+     * Maps and validates a table file whose section sizes are not known in advance, such as a compiled
+     * algorithm library; only the version and section count are checked against the caller's.
+     *
+     * @return The sections, or null if the file is corrupt or does not match.
+     */
+    static List<MemorySegment> map(Path path, int version, int sectionCount) throws IOException {
+        return map(path, version, sectionCount, null);
+    }
+
+    /**
+     * Maps the file in an arena of its own. The arena is closed again unless the file passes every check, so a
+     * rejected file is unmapped at once and can be replaced; the sections of an accepted one stay mapped for the
+     * life of the process, as the tables built from them do.
+     */
+    private static List<MemorySegment> map(Path path, int version, int sectionCount, long[] sectionBytes)
+            throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        Arena arena = Arena.ofShared();
+        boolean valid = false;
+        try {
+            MemorySegment file;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size != attributes.size() || size < directoryEnd(sectionCount)) {
+                    return null;
+                }
+                file = channel.map(FileChannel.MapMode.READ_ONLY, 0, size, arena);
+            }
+
+            if (file.get(ValueLayout.JAVA_LONG_UNALIGNED, 0) != MAGIC
+                    || file.get(ValueLayout.JAVA_INT_UNALIGNED, 8) != FORMAT_VERSION
+                    || file.get(ValueLayout.JAVA_INT_UNALIGNED, 12) != version
+                    || file.get(ValueLayout.JAVA_INT_UNALIGNED, 16) != byteOrder()
+                    || file.get(ValueLayout.JAVA_INT_UNALIGNED, 20) != sectionCount) {
+                return null;
+            }
+
+            MemorySegment[] sections = new MemorySegment[sectionCount];
+            for (int i = 0; i < sections.length; i++) {
+                long offset = file.get(ValueLayout.JAVA_LONG_UNALIGNED, HEADER_SIZE + 16L * i);
+                long length = file.get(ValueLayout.JAVA_LONG_UNALIGNED, HEADER_SIZE + 16L * i + 8);
+                if (sectionBytes != null && length != sectionBytes[i]
+                        || length < 0 || offset < directoryEnd(sectionCount) || offset > file.byteSize() - length) {
+                    return null;
+                }
+                sections[i] = file.asSlice(offset, length);
+            }
+
+            long checksum = file.get(ValueLayout.JAVA_LONG_UNALIGNED, 24);
+            if (!isVerified(path, attributes, checksum)) {
+                if (checksum(file.asSlice(HEADER_SIZE)) != checksum) {
+                    return null;
+                }
+                markVerified(path, attributes, checksum);
+            }
+            valid = true;
+            return List.of(sections);
+        } finally {
+            if (!valid) {
+                arena.close();
+            }
+        }
+    }
+
+    /**
+     * Writes a table file through a temporary file, so readers never see a half-written one.
+     */
+    static void write(Path path, int version, List<MemorySegment> sections) throws IOException {
+        long offset = align(directoryEnd(sections.size()));
+        long[] offsets = new long[sections.size()];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = offset;
+            offset = align(offset + sections.get(i).byteSize());
+        }
+
+        Files.createDirectories(path.getParent());
+        long checksum;
+        Path temporary = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 Arena arena = Arena.ofConfined()) {
+                MemorySegment file = channel.map(FileChannel.MapMode.READ_WRITE, 0, offset, arena);
+                file.set(ValueLayout.JAVA_LONG_UNALIGNED, 0, MAGIC);
+                file.set(ValueLayout.JAVA_INT_UNALIGNED, 8, FORMAT_VERSION);
+                file.set(ValueLayout.JAVA_INT_UNALIGNED, 12, version);
+                file.set(ValueLayout.JAVA_INT_UNALIGNED, 16, byteOrder());
+                file.set(ValueLayout.JAVA_INT_UNALIGNED, 20, sections.size());
+                for (int i = 0; i < offsets.length; i++) {
+                    MemorySegment section = sections.get(i);
+                    file.set(ValueLayout.JAVA_LONG_UNALIGNED, HEADER_SIZE + 16L * i, offsets[i]);
+                    file.set(ValueLayout.JAVA_LONG_UNALIGNED, HEADER_SIZE + 16L * i + 8, section.byteSize());
+                    MemorySegment.copy(section, 0, file, offsets[i], section.byteSize());
+                }
+                checksum = checksum(file.asSlice(HEADER_SIZE));
+                file.set(ValueLayout.JAVA_LONG_UNALIGNED, 24, checksum);
+                file.force();
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        markVerified(path, Files.readAttributes(path, BasicFileAttributes.class), checksum);
+    }
+
+    /**
+     * Checks whether the file's stamp says it has been checksummed since it last changed.
+     */
+    private static boolean isVerified(Path path, BasicFileAttributes attributes, long checksum) {
+        byte[] stamp;
+        try {
+            stamp = Files.readAllBytes(stampPath(path));
+        } catch (IOException e) {
+            return false;
+        }
+        if (stamp.length != STAMP_SIZE) {
+            return false;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(stamp);
+        return buffer.getLong() == attributes.size()
+                && buffer.getLong() == attributes.lastModifiedTime().toMillis()
+                && buffer.getLong() == checksum;
+    }
+
+    /**
+     * Records that the file as it is now has passed its checksum. Failing to is harmless: the next start checksums
+     * the file again.
+     */
+    private static void markVerified(Path path, BasicFileAttributes attributes, long checksum) {
+        try {
+            ByteBuffer stamp = ByteBuffer.allocate(STAMP_SIZE)
+                    .putLong(attributes.size())
+                    .putLong(attributes.lastModifiedTime().toMillis())
+                    .putLong(checksum);
+            Files.write(stampPath(path), stamp.array());
+        } catch (IOException e) {
+            logger().log(System.Logger.Level.DEBUG, "Could not stamp table file " + path, e);
+        }
+    }
+
+    private static Path stampPath(Path path) {
+        return path.resolveSibling(path.getFileName() + ".verified");
+    }
+
+    /**
+     * Checksums a segment through a heap buffer: buffers over segments of a closeable shared arena, as mapped files
+     * are, cannot be handed to the checksum directly.
+     */
+    private static long checksum(MemorySegment segment) {
+        CRC32C crc = new CRC32C();
+        byte[] chunk = new byte[CHECKSUM_CHUNK];
+        for (long offset = 0; offset < segment.byteSize(); offset += CHECKSUM_CHUNK) {
+            int length = (int) Math.min(CHECKSUM_CHUNK, segment.byteSize() - offset);
+            MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, offset, chunk, 0, length);
+            crc.update(chunk, 0, length);
+        }
+        return crc.getValue();
+    }
+
+    private static long directoryEnd(int sectionCount) {
+        return HEADER_SIZE + 16L * sectionCount;
+    }
+
+    private static long align(long offset) {
+        return (offset + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    private static int byteOrder() {
+        return ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? 0 : 1;
+    }
+
+    /**
+     * Looks the logger up only when there is something to log, since setting up logging is slow.
+     */
+    private static System.Logger logger() {
+        return System.getLogger(TableFile.class.getName());
+    }
+}
@@ -0,0 +1,97 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size, lock-free table from 64-bit state hashes to a small search result, for deduplicating states
+ * during search without allocating.
+ * <p>
+ * Each slot is two longs: the packed entry and the hash XORed with it. Writers race freely; a reader only
+ * accepts a slot whose two words still XOR to the hash it asked for, so an entry torn by a concurrent write reads
+ * as a miss rather than as someone else's data. A slot is overwritten when the new entry was searched at least as
+ * deep as the old one, or belongs to the same state.
+ * <p>
+ * Entries are returned packed into a long, read with {@link #depth(long)} and {@link #value(long)}; {@link #MISS}
+ * means the state is not in the table.
+ */
+public final class TranspositionTable {
+    public static final long MISS = 0;
+
+    private static final long PRESENT = 1L << 40;
+    private static final int MAX_DEPTH = 0xFF;
+
+    private final long[] checks;
+    private final long[] entries;
+    private final int mask;
+
+    /**
+     * Creates a table with room for at least {@code capacity} entries, rounded up to a power of two.
+     */
+    public TranspositionTable(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity out of range: " + capacity);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.checks = new long[size];
+        this.entries = new long[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Records a result for a state, unless its slot holds a different state searched deeper.
+     *
+     * @param hash  The state hash, see {@link Cube#getStateHash()}.
+     * @param depth The depth the result was searched to, 0 to 255.
+     * @param value Any 32-bit value, such as a distance bound.
+     * @return Whether the entry was written.
+     */
+    public boolean store(long hash, int depth, int value) {
+        if (depth < 0 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Depth out of range: " + depth);
+        }
+        int slot = slotOf(hash);
+        long old = entries[slot];
+        boolean sameState = (checks[slot] ^ old) == hash;
+        if (old != MISS && !sameState && depth(old) > depth) {
+            return false;
+        }
+        long entry = PRESENT | (long) depth << 32 | (value & 0xFFFFFFFFL);
+        entries[slot] = entry;
+        checks[slot] = hash ^ entry;
+        return true;
+    }
+
+    /**
+     * Looks up a state.
+     *
+     * @param hash The state hash.
+     * @return The packed entry, or {@link #MISS}.
+     */
+    public long probe(long hash) {
+        int slot = slotOf(hash);
+        long entry = entries[slot];
+        long check = checks[slot];
+        return entry != MISS && (check ^ entry) == hash ? entry : MISS;
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> 32) & MAX_DEPTH;
+    }
+
+    public static int value(long entry) {
+        return (int) entry;
+    }
+
+    public int capacity() {
+        return entries.length;
+    }
+
+    public void clear() {
+        Arrays.fill(entries, MISS);
+        Arrays.fill(checks, 0);
+    }
+
+    private int slotOf(long hash) {
+        return (int) (hash ^ hash >>> 32) & mask;
+    }
+}
@@ -0,0 +1,242 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.util.function.Consumer;
+
+/**
+ * Fast near-optimal solver using Kociemba's two-phase algorithm on the coordinates in {@link TwoPhaseTables}.
+ * <p>
+ * Phase 1 searches, by increasing depth, for move sequences that bring the cube into the U, D, R2, L2, F2, B2
+ * subgroup; each one found is completed by a phase 2 search inside the subgroup. A first solution of at most
+ * 22 moves typically takes around ten milliseconds. The search then keeps going with longer phase 1 prefixes, reporting every
+ * strictly shorter solution it finds, until the time budget runs out or no shorter two-phase solution can exist.
+ * The budget is a hard limit that returns the best solution so far, or none, unless the caller asks for a first
+ * solution whatever it takes, as scrambles and the UI need.
+ * Solutions are passed through {@link MoveSimplifier}, since turns can merge where the two phases meet.
+ * <p>
+ * Instances are not thread-safe; use one per thread. The tables themselves are shared.
+ */
+public class TwoPhaseSolver {
+    public static final int DEFAULT_MAX_LENGTH = 22;
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 20;
+
+    private static final int MAX_DEPTH = 31;
+    private static final int MAX_PHASE2_LENGTH = 12;
+    private static final int TIME_CHECK_INTERVAL = 1 << 12;
+
+    private final TwoPhaseTables tables;
+
+    private final int[] twist = new int[MAX_DEPTH + 1];
+    private final int[] flip = new int[MAX_DEPTH + 1];
+    private final int[] slice = new int[MAX_DEPTH + 1];
+    private final int[] cornerPermutation = new int[MAX_DEPTH + 1];
+    private final int[] edgePermutation = new int[MAX_DEPTH + 1];
+    private final int[] slicePermutation = new int[MAX_DEPTH + 1];
+    private final byte[] moves = new byte[MAX_DEPTH];
+
+    private final CubieCube phase2Start = new CubieCube();
+    private final CubieCube scratch = new CubieCube();
+
+    private CubieCube start;
+    private MoveSequence best;
+    private MoveSequence bestFound;
+    private int bestLength;
+    private Consumer<MoveSequence> onImprovement;
+    private long deadline;
+    private boolean untilFirstSolution;
+    private boolean timedOut;
+    private long nodes;
+    private long nextTimeCheck;
+
+    private SolverStatistics lastStatistics;
+
+    public TwoPhaseSolver() {
+        this.tables = TwoPhaseTables.shared();
+    }
+
+    /**
+     * Solves the given cube without changing it, with the default length limit and time budget. The budget
+     * only applies once a first solution has been found.
+     *
+     * @param cube The cube to solve.
+     * @return The shortest solution found.
+     */
+    public MoveSequence solve(Cube cube) {
+        return solve(CubieCube.fromCube(cube), DEFAULT_MAX_LENGTH, DEFAULT_TIME_BUDGET_MILLIS, true, null);
+    }
+
+    /**
+     * Solves a cube given in piece form, stopping when the time budget runs out.
+     *
+     * @param cube             The state to solve.
+     * @param maxLength        The longest acceptable solution.
+     * @param timeBudgetMillis How long to search.
+     * @param onImprovement    Called with every solution that is shorter than all before it; may be null.
+     * @return The shortest solution found, or null if there is no two-phase solution of at most
+     * {@code maxLength} moves or none was found in time.
+     * @throws IllegalArgumentException if the state cannot be solved.
+     */
+    public MoveSequence solve(CubieCube cube, int maxLength, long timeBudgetMillis,
+                              Consumer<MoveSequence> onImprovement) {
+        return solve(cube, maxLength, timeBudgetMillis, false, onImprovement);
+    }
+
+    /**
+     * Solves a cube given in piece form.
+     *
+     * @param cube               The state to solve.
+     * @param maxLength          The longest acceptable solution.
+     * @param timeBudgetMillis   How long to search.
+     * @param untilFirstSolution Whether to ignore the budget until a first solution has been found, so the budget
+     *                           only limits the search for shorter ones.
+     * @param onImprovement      Called with every solution that is shorter than all before it; may be null.
+     * @return The shortest solution found, or null if there is no two-phase solution of at most
+     * {@code maxLength} moves, or none was found in time when not searching until the first solution.
+     * @throws IllegalArgumentException if the state cannot be solved.
+     */
+    public MoveSequence solve(CubieCube cube, int maxLength, long timeBudgetMillis, boolean untilFirstSolution,
+                              Consumer<MoveSequence> onImprovement) {
+        if (!cube.isSolvable()) {
+            throw new IllegalArgumentException("Cube state is not solvable");
+        }
+
+        long startTime = System.nanoTime();
+        this.start = cube;
+        this.best = null;
+        this.bestFound = null;
+        this.bestLength = Math.min(maxLength, MAX_DEPTH) + 1;
+        this.onImprovement = onImprovement;
+        this.deadline = startTime + timeBudgetMillis * 1_000_000L;
+        this.untilFirstSolution = untilFirstSolution;
+        this.timedOut = false;
+        this.nodes = 0;
+        this.nextTimeCheck = TIME_CHECK_INTERVAL;
+
+        twist[0] = cube.cornerTwistCoordinate();
+        flip[0] = TwoPhaseTables.flip(cube);
+        slice[0] = TwoPhaseTables.slice(cube);
+
+        int firstDepth = tables.phase1Estimate(twist[0], flip[0], slice[0]);
+        for (int depth = firstDepth; depth < bestLength && !timedOut; depth++) {
+            phase1(0, depth, -1);
+        }
+
+        lastStatistics = new SolverStatistics(nodes, System.nanoTime() - startTime, bestFound, best,
+                tables.byteSize(), new long[]{nodes});
+        return best;
+    }
+
+    /**
+     * Gets the figures from the most recent call to {@code solve}.
+     *
+     * @return The statistics, or null if nothing has been solved yet.
+     */
+    public SolverStatistics getLastStatistics() {
+        return lastStatistics;
+    }
+
+    private void phase1(int depth, int length, int lastFace) {
+        if (timedOut) {
+            return;
+        }
+        if (++nodes >= nextTimeCheck) {
+            nextTimeCheck = nodes + TIME_CHECK_INTERVAL;
+            if ((best != null || !untilFirstSolution) && System.nanoTime() > deadline) {
+                timedOut = true;
+                return;
+            }
+        }
+
+        int remaining = length - depth;
+        int estimate = tables.phase1Estimate(twist[depth], flip[depth], slice[depth]);
+        if (estimate > remaining) {
+            return;
+        }
+        if (remaining == 0) {
+            // A prefix ending in a phase 2 move would already have been tried one move shorter.
+            if (depth == 0 || !isPhase2Move(moves[depth - 1])) {
+                startPhase2(depth);
+            }
+            return;
+        }
+
+        for (int move = 0; move < TwoPhaseTables.MOVE_COUNT; move++) {
+            int face = move / 3;
+            if (OptimalSolver.isRedundant(lastFace, face)) {
+                continue;
+            }
+            twist[depth + 1] = tables.twistMoves[twist[depth] * TwoPhaseTables.MOVE_COUNT + move];
+            flip[depth + 1] = tables.flipMoves[flip[depth] * TwoPhaseTables.MOVE_COUNT + move];
+            slice[depth + 1] = tables.sliceMoves[slice[depth] * TwoPhaseTables.MOVE_COUNT + move];
+            moves[depth] = (byte) move;
+            phase1(depth + 1, length, face);
+            if (timedOut || length >= bestLength) {
+                return;
+            }
+        }
+    }
+
+    private void startPhase2(int phase1Length) {
+        phase2Start.copyFrom(start);
+        for (int i = 0; i < phase1Length; i++) {
+            scratch.multiply(phase2Start, CubieCube.move(moves[i]));
+            phase2Start.copyFrom(scratch);
+        }
+
+        int d = phase1Length;
+        cornerPermutation[d] = phase2Start.cornerPermutationCoordinate();
+        edgePermutation[d] = TwoPhaseTables.edgePermutation(phase2Start);
+        slicePermutation[d] = TwoPhaseTables.slicePermutation(phase2Start);
+
+        int maxPhase2 = Math.min(MAX_PHASE2_LENGTH, bestLength - 1 - phase1Length);
+        int lastFace = phase1Length == 0 ? -1 : moves[phase1Length - 1] / 3;
+        int firstDepth = tables.phase2Estimate(cornerPermutation[d], edgePermutation[d], slicePermutation[d]);
+        for (int length = firstDepth; length <= maxPhase2; length++) {
+            if (phase2(d, d + length, lastFace)) {
+                int total = d + length;
+                byte[] codes = new byte[total];
+                System.arraycopy(moves, 0, codes, 0, total);
+                // Where phase 1 meets phase 2 turns can merge, so a later solution only counts as shorter
+                // if it beats this one after simplifying.
+                bestFound = MoveSequence.ofCodes(codes);
+                best = MoveSimplifier.simplify(bestFound);
+                bestLength = best.length();
+                if (onImprovement != null) {
+                    onImprovement.accept(best);
+                }
+                return;
+            }
+        }
+    }
+
+    private boolean phase2(int depth, int length, int lastFace) {
+        nodes++;
+        int estimate = tables.phase2Estimate(cornerPermutation[depth], edgePermutation[depth], slicePermutation[depth]);
+        if (estimate == 0) {
+            return depth == length;
+        }
+        if (depth + estimate > length) {
+            return false;
+        }
+
+        for (int m = 0; m < TwoPhaseTables.PHASE2_MOVE_COUNT; m++) {
+            int move = TwoPhaseTables.PHASE2_MOVES[m];
+            int face = move / 3;
+            if (OptimalSolver.isRedundant(lastFace, face)) {
+                continue;
+            }
+            cornerPermutation[depth + 1] = tables.cornerPermutationMoves[cornerPermutation[depth] * TwoPhaseTables.PHASE2_MOVE_COUNT + m];
+            edgePermutation[depth + 1] = tables.edgePermutationMoves[edgePermutation[depth] * TwoPhaseTables.PHASE2_MOVE_COUNT + m];
+            slicePermutation[depth + 1] = tables.slicePermutationMoves[slicePermutation[depth] * TwoPhaseTables.PHASE2_MOVE_COUNT + m];
+            moves[depth] = (byte) move;
+            if (phase2(depth + 1, length, face)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isPhase2Move(int move) {
+        int face = move / 3;
+        return face == Cube.U || face == Cube.D || move % 3 == 1;
+    }
+}
@@ -0,0 +1,293 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.List;
+
+/**
+ * Coordinates, move tables and pruning tables for {@link TwoPhaseSolver}.
+ * <p>
+ * Phase 1 brings the cube into the subgroup generated by U, D, R2, L2, F2, B2, tracked by three coordinates:
+ * corner twist (3^7), edge flip (2^11) and the slots holding the four UD-slice edges (12 choose 4 = 495).
+ * Phase 2 solves the cube inside that subgroup using the corner permutation (8!), the permutation of the eight
+ * U/D edges (8!) and the permutation of the slice edges (4!). Each phase prunes with two tables that pair a
+ * large coordinate with the slice coordinate, about 3 MB in total. They are generated on the first run and kept
+ * as a {@link TableFile}.
+ */
+final class TwoPhaseTables {
+    static final int MOVE_COUNT = MoveTables.FACE_MOVE_COUNT;
+
+    /**
+     * The face turns that keep a cube inside the phase 2 subgroup: U, U2, U', R2, F2, D, D2, D', L2, B2.
+     */
+    static final int[] PHASE2_MOVES = {0, 1, 2, 4, 7, 9, 10, 11, 13, 16};
+    static final int PHASE2_MOVE_COUNT = PHASE2_MOVES.length;
+
+    static final int TWISTS = 2187;
+    static final int FLIPS = 2048;
+    static final int SLICES = 495;
+    static final int CORNER_PERMUTATIONS = 40320;
+    static final int EDGE_PERMUTATIONS = 40320;
+    static final int SLICE_PERMUTATIONS = 24;
+
+    static final String FILE_NAME = "two-phase.tbl";
+    static final int TABLE_VERSION = 1;
+
+    private static final int SLICE_EDGE = 8;
+
+    /**
+     * The slice coordinate of the solved cube, with FR, FL, BL, BR in the last four slots.
+     */
+    static final int SOLVED_SLICE;
+
+    private static final short[] SLICE_OF_MASK = new short[1 << CubieCube.EDGE_COUNT];
+    private static final short[] MASK_OF_SLICE = new short[SLICES];
+
+    static {
+        int rank = 0;
+        for (int mask = 0; mask < SLICE_OF_MASK.length; mask++) {
+            if (Integer.bitCount(mask) == 4) {
+                SLICE_OF_MASK[mask] = (short) rank;
+                MASK_OF_SLICE[rank] = (short) mask;
+                rank++;
+            }
+        }
+        SOLVED_SLICE = SLICE_OF_MASK[0xF00];
+    }
+
+    final char[] twistMoves = new char[TWISTS * MOVE_COUNT];
+    final char[] flipMoves = new char[FLIPS * MOVE_COUNT];
+    final char[] sliceMoves = new char[SLICES * MOVE_COUNT];
+
+    /**
+     * Phase 2 move tables, indexed {@code coordinate * PHASE2_MOVE_COUNT + phase 2 move index}.
+     */
+    final char[] cornerPermutationMoves = new char[CORNER_PERMUTATIONS * PHASE2_MOVE_COUNT];
+    final char[] edgePermutationMoves = new char[EDGE_PERMUTATIONS * PHASE2_MOVE_COUNT];
+    final byte[] slicePermutationMoves = new byte[SLICE_PERMUTATIONS * PHASE2_MOVE_COUNT];
+
+    final NibbleTable twistSlice;
+    final NibbleTable flipSlice;
+    final NibbleTable cornerSlicePermutation;
+    final NibbleTable edgeSlicePermutation;
+
+    private static final class Holder {
+        static final TwoPhaseTables SHARED = new TwoPhaseTables();
+    }
+
+    private TwoPhaseTables() {
+        long[] sectionBytes = {
+                2L * twistMoves.length, 2L * flipMoves.length, 2L * sliceMoves.length,
+                2L * cornerPermutationMoves.length, 2L * edgePermutationMoves.length, slicePermutationMoves.length,
+                NibbleTable.byteSize((long) SLICES * TWISTS), NibbleTable.byteSize((long) SLICES * FLIPS),
+                NibbleTable.byteSize((long) CORNER_PERMUTATIONS * SLICE_PERMUTATIONS),
+                NibbleTable.byteSize((long) EDGE_PERMUTATIONS * SLICE_PERMUTATIONS)
+        };
+        List<MemorySegment> sections = TableFile.load(FILE_NAME, TABLE_VERSION, sectionBytes, this::generate);
+
+        MemorySegment.copy(sections.get(0), ValueLayout.JAVA_CHAR, 0, twistMoves, 0, twistMoves.length);
+        MemorySegment.copy(sections.get(1), ValueLayout.JAVA_CHAR, 0, flipMoves, 0, flipMoves.length);
+        MemorySegment.copy(sections.get(2), ValueLayout.JAVA_CHAR, 0, sliceMoves, 0, sliceMoves.length);
+        MemorySegment.copy(sections.get(3), ValueLayout.JAVA_CHAR, 0, cornerPermutationMoves, 0,
+                cornerPermutationMoves.length);
+        MemorySegment.copy(sections.get(4), ValueLayout.JAVA_CHAR, 0, edgePermutationMoves, 0,
+                edgePermutationMoves.length);
+        MemorySegment.copy(sections.get(5), ValueLayout.JAVA_BYTE, 0, slicePermutationMoves, 0,
+                slicePermutationMoves.length);
+        twistSlice = new NibbleTable(sections.get(6), (long) SLICES * TWISTS);
+        flipSlice = new NibbleTable(sections.get(7), (long) SLICES * FLIPS);
+        cornerSlicePermutation = new NibbleTable(sections.get(8), (long) CORNER_PERMUTATIONS * SLICE_PERMUTATIONS);
+        edgeSlicePermutation = new NibbleTable(sections.get(9), (long) EDGE_PERMUTATIONS * SLICE_PERMUTATIONS);
+    }
+
+    /**
+     * Builds every table from scratch, in file section order.
+     */
+    private List<MemorySegment> generate() {
+        buildPhase1MoveTables();
+        buildPhase2MoveTables();
+
+        NibbleTable twistSlice = NibbleTable.breadthFirst((long) SLICES * TWISTS, (long) SOLVED_SLICE * TWISTS,
+                MOVE_COUNT, (index, neighbors) -> {
+                    int slice = (int) (index / TWISTS);
+                    int twist = (int) (index % TWISTS);
+                    for (int move = 0; move < MOVE_COUNT; move++) {
+                        neighbors[move] = (long) sliceMoves[slice * MOVE_COUNT + move] * TWISTS
+                                + twistMoves[twist * MOVE_COUNT + move];
+                    }
+                });
+        NibbleTable flipSlice = NibbleTable.breadthFirst((long) SLICES * FLIPS, (long) SOLVED_SLICE * FLIPS,
+                MOVE_COUNT, (index, neighbors) -> {
+                    int slice = (int) (index / FLIPS);
+                    int flip = (int) (index % FLIPS);
+                    for (int move = 0; move < MOVE_COUNT; move++) {
+                        neighbors[move] = (long) sliceMoves[slice * MOVE_COUNT + move] * FLIPS
+                                + flipMoves[flip * MOVE_COUNT + move];
+                    }
+                });
+        return List.of(MemorySegment.ofArray(twistMoves), MemorySegment.ofArray(flipMoves),
+                MemorySegment.ofArray(sliceMoves), MemorySegment.ofArray(cornerPermutationMoves),
+                MemorySegment.ofArray(edgePermutationMoves), MemorySegment.ofArray(slicePermutationMoves),
+                twistSlice.segment(), flipSlice.segment(), phase2Table(cornerPermutationMoves).segment(),
+                phase2Table(edgePermutationMoves).segment());
+    }
+
+    /**
+     * Gets the process-wide tables, generating them on first use.
+     */
+    static TwoPhaseTables shared() {
+        return Holder.SHARED;
+    }
+
+    long byteSize() {
+        return twistSlice.byteSize() + flipSlice.byteSize() + cornerSlicePermutation.byteSize()
+                + edgeSlicePermutation.byteSize()
+                + 2L * (twistMoves.length + flipMoves.length + sliceMoves.length
+                + cornerPermutationMoves.length + edgePermutationMoves.length)
+                + slicePermutationMoves.length;
+    }
+
+    int phase1Estimate(int twist, int flip, int slice) {
+        return Math.max(twistSlice.get((long) slice * TWISTS + twist), flipSlice.get((long) slice * FLIPS + flip));
+    }
+
+    int phase2Estimate(int cornerPermutation, int edgePermutation, int slicePermutation) {
+        return Math.max(cornerSlicePermutation.get((long) cornerPermutation * SLICE_PERMUTATIONS + slicePermutation),
+                edgeSlicePermutation.get((long) edgePermutation * SLICE_PERMUTATIONS + slicePermutation));
+    }
+
+    static int flip(CubieCube cube) {
+        int coordinate = 0;
+        for (int i = 0; i < CubieCube.EDGE_COUNT - 1; i++) {
+            coordinate = coordinate * 2 + cube.edgeOrientation[i];
+        }
+        return coordinate;
+    }
+
+    static int slice(CubieCube cube) {
+        int mask = 0;
+        for (int i = 0; i < CubieCube.EDGE_COUNT; i++) {
+            if (cube.edgePermutation[i] >= SLICE_EDGE) {
+                mask |= 1 << i;
+            }
+        }
+        return SLICE_OF_MASK[mask];
+    }
+
+    /**
+     * Gets the rank of the permutation of the eight U/D edges; only meaningful in the phase 2 subgroup.
+     */
+    static int edgePermutation(CubieCube cube) {
+        byte[] edges = new byte[SLICE_EDGE];
+        System.arraycopy(cube.edgePermutation, 0, edges, 0, SLICE_EDGE);
+        return CubieCube.rankPermutation(edges);
+    }
+
+    /**
+     * Gets the rank of the permutation of the four slice edges; only meaningful in the phase 2 subgroup.
+     */
+    static int slicePermutation(CubieCube cube) {
+        byte[] edges = new byte[CubieCube.EDGE_COUNT - SLICE_EDGE];
+        for (int i = 0; i < edges.length; i++) {
+            edges[i] = (byte) (cube.edgePermutation[SLICE_EDGE + i] - SLICE_EDGE);
+        }
+        return CubieCube.rankPermutation(edges);
+    }
+
+    private void buildPhase1MoveTables() {
+        CubieCube cube = new CubieCube();
+        CubieCube moved = new CubieCube();
+
+        for (int twist = 0; twist < TWISTS; twist++) {
+            int remaining = twist;
+            int sum = 0;
+            for (int i = CubieCube.CORNER_COUNT - 2; i >= 0; i--) {
+                cube.cornerOrientation[i] = (byte) (remaining % 3);
+                sum += remaining % 3;
+                remaining /= 3;
+            }
+            cube.cornerOrientation[CubieCube.CORNER_COUNT - 1] = (byte) ((3 - sum % 3) % 3);
+            for (int move = 0; move < MOVE_COUNT; move++) {
+                moved.multiply(cube, CubieCube.move(move));
+                twistMoves[twist * MOVE_COUNT + move] = (char) moved.cornerTwistCoordinate();
+            }
+        }
+
+        cube = new CubieCube();
+        for (int flip = 0; flip < FLIPS; flip++) {
+            int sum = 0;
+            for (int i = CubieCube.EDGE_COUNT - 2; i >= 0; i--) {
+                cube.edgeOrientation[i] = (byte) ((flip >> (CubieCube.EDGE_COUNT - 2 - i)) & 1);
+                sum += cube.edgeOrientation[i];
+            }
+            cube.edgeOrientation[CubieCube.EDGE_COUNT - 1] = (byte) (sum & 1);
+            for (int move = 0; move < MOVE_COUNT; move++) {
+                moved.multiply(cube, CubieCube.move(move));
+                flipMoves[flip * MOVE_COUNT + move] = (char) flip(moved);
+            }
+        }
+
+        cube = new CubieCube();
+        for (int slice = 0; slice < SLICES; slice++) {
+            int mask = MASK_OF_SLICE[slice];
+            int sliceEdge = SLICE_EDGE;
+            int otherEdge = 0;
+            for (int i = 0; i < CubieCube.EDGE_COUNT; i++) {
+                cube.edgePermutation[i] = (byte) ((mask & (1 << i)) != 0 ? sliceEdge++ : otherEdge++);
+            }
+            for (int move = 0; move < MOVE_COUNT; move++) {
+                moved.multiply(cube, CubieCube.move(move));
+                sliceMoves[slice * MOVE_COUNT + move] = (char) slice(moved);
+            }
+        }
+    }
+
+    private void buildPhase2MoveTables() {
+        CubieCube cube = new CubieCube();
+        CubieCube moved = new CubieCube();
+        byte[] eight = new byte[8];
+
+        for (int coordinate = 0; coordinate < CORNER_PERMUTATIONS; coordinate++) {
+            CubieCube.unrankPermutation(coordinate, eight);
+            System.arraycopy(eight, 0, cube.cornerPermutation, 0, 8);
+            for (int m = 0; m < PHASE2_MOVE_COUNT; m++) {
+                moved.multiply(cube, CubieCube.move(PHASE2_MOVES[m]));
+                cornerPermutationMoves[coordinate * PHASE2_MOVE_COUNT + m] = (char) moved.cornerPermutationCoordinate();
+            }
+        }
+
+        cube = new CubieCube();
+        for (int coordinate = 0; coordinate < EDGE_PERMUTATIONS; coordinate++) {
+            CubieCube.unrankPermutation(coordinate, eight);
+            System.arraycopy(eight, 0, cube.edgePermutation, 0, 8);
+            for (int m = 0; m < PHASE2_MOVE_COUNT; m++) {
+                moved.multiply(cube, CubieCube.move(PHASE2_MOVES[m]));
+                edgePermutationMoves[coordinate * PHASE2_MOVE_COUNT + m] = (char) edgePermutation(moved);
+            }
+        }
+
+        cube = new CubieCube();
+        byte[] four = new byte[4];
+        for (int coordinate = 0; coordinate < SLICE_PERMUTATIONS; coordinate++) {
+            CubieCube.unrankPermutation(coordinate, four);
+            for (int i = 0; i < 4; i++) {
+                cube.edgePermutation[SLICE_EDGE + i] = (byte) (SLICE_EDGE + four[i]);
+            }
+            for (int m = 0; m < PHASE2_MOVE_COUNT; m++) {
+                moved.multiply(cube, CubieCube.move(PHASE2_MOVES[m]));
+                slicePermutationMoves[coordinate * PHASE2_MOVE_COUNT + m] = (byte) slicePermutation(moved);
+            }
+        }
+    }
+
+    private NibbleTable phase2Table(char[] permutationMoves) {
+        return NibbleTable.breadthFirst(40320L * SLICE_PERMUTATIONS, 0, PHASE2_MOVE_COUNT, (index, neighbors) -> {
+            int permutation = (int) (index / SLICE_PERMUTATIONS);
+            int slicePermutation = (int) (index % SLICE_PERMUTATIONS);
+            for (int m = 0; m < PHASE2_MOVE_COUNT; m++) {
+                neighbors[m] = (long) permutationMoves[permutation * PHASE2_MOVE_COUNT + m] * SLICE_PERMUTATIONS
+                        + slicePermutationMoves[slicePermutation * PHASE2_MOVE_COUNT + m];
+            }
+        });
+    }
+}
@@ -0,0 +1,86 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist hashing of facelet states: one random 64-bit key per (facelet, color) pair, XORed together. A move
+ * only changes the facelets it cycles, so the hash is updated from those alone rather than rehashing all 54: a
+ * sticker of color {@code c} moving from {@code p} to {@code q} changes the hash by {@code key(p, c) ^ key(q, c)},
+ * which is precomputed for every moved sticker, move and color. Keys come from a fixed seed, so hashes are the
+ * same in every run.
+ */
+final class Zobrist {
+    private static final int COLORS = 6;
+    private static final long SEED = 0x5EED_CAFE_F00DL;
+
+    private static final long[] KEYS = new long[Cube.FACELET_COUNT * COLORS];
+
+    /**
+     * For each move, where each moved sticker comes from, and the hash change for each of its possible colors,
+     * indexed {@code k * COLORS + color} for the {@code k}th moved sticker.
+     */
+    private static final int[][] MOVED_FROM = new int[MoveTables.MOVE_COUNT][];
+    private static final long[][] DELTAS = new long[MoveTables.MOVE_COUNT][];
+
+    /**
+     * The hash of the solved cube.
+     */
+    static final long SOLVED;
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < KEYS.length; i++) {
+            KEYS[i] = random.nextLong();
+        }
+
+        byte[] solved = new byte[Cube.FACELET_COUNT];
+        for (int i = 0; i < solved.length; i++) {
+            solved[i] = (byte) (i / 9);
+        }
+        SOLVED = hash(solved);
+
+        for (int move = 0; move < MoveTables.MOVE_COUNT; move++) {
+            int[] source = MoveTables.source(move);
+            int[] moved = MoveTables.movedFacelets(move);
+            MOVED_FROM[move] = new int[moved.length];
+            DELTAS[move] = new long[moved.length * COLORS];
+            for (int k = 0; k < moved.length; k++) {
+                int to = moved[k];
+                int from = source[to];
+                MOVED_FROM[move][k] = from;
+                for (int color = 0; color < COLORS; color++) {
+                    DELTAS[move][k * COLORS + color] = KEYS[from * COLORS + color] ^ KEYS[to * COLORS + color];
+                }
+            }
+        }
+    }
+
+    private Zobrist() {
+    }
+
+    static long hash(byte[] facelets) {
+        long hash = 0;
+        for (int i = 0; i < Cube.FACELET_COUNT; i++) {
+            hash ^= KEYS[i * COLORS + facelets[i]];
+        }
+        return hash;
+    }
+
+    /**
+     * Applies a move to the facelets in place and updates their hash.
+     *
+     * @param facelets The facelets, which {@code hash} must be the hash of.
+     * @param move     The move code.
+     * @param hash     The hash before the move.
+     * @return The hash after the move.
+     */
+    static long applyMove(byte[] facelets, int move, long hash) {
+        int[] from = MOVED_FROM[move];
+        long[] deltas = DELTAS[move];
+        for (int k = 0; k < from.length; k++) {
+            hash ^= deltas[k * COLORS + facelets[from[k]]];
+        }
+        MoveTables.apply(facelets, move);
+        return hash;
+    }
+}
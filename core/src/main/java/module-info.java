@@ -0,0 +1,5 @@
+module com.rubikssolver.rubikscubevisualizer {
+    requires java.management;
+
+    exports com.rubikssolver.rubikscubevisualizer;
+}
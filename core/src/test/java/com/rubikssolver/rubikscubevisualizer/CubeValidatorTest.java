@@ -0,0 +1,135 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CubeValidatorTest {
+    private static final String SOLVED = "YYYYYYYYYOOOOOOOOOGGGGGGGGGWWWWWWWWWRRRRRRRRRBBBBBBBBB";
+
+    @Test
+    void acceptsSolvedCube() {
+        assertEquals(CubeValidator.VALID, CubeValidator.validate(facelets(new Cube())));
+    }
+
+    @Test
+    void acceptsScrambledAndRotatedCubes() {
+        ScrambleGenerator generator = new ScrambleGenerator(1);
+        for (int n = 0; n < 1000; n++) {
+            Cube cube = new Cube();
+            cube.applySequence(generator.randomMoves(n));
+            cube.applyMove(MoveTables.ROTATION_BASE * 3 + n % 9);
+            assertEquals(CubeValidator.VALID, CubeValidator.validate(facelets(cube)), "scramble " + n);
+        }
+    }
+
+    @Test
+    void reportsTwistedCorner() {
+        byte[] facelets = facelets(new Cube());
+        int[] corner = CubieCube.CORNER_FACELETS[0];
+        byte first = facelets[corner[0]];
+        facelets[corner[0]] = facelets[corner[1]];
+        facelets[corner[1]] = facelets[corner[2]];
+        facelets[corner[2]] = first;
+        assertEquals(CubeValidator.CORNER_TWIST, CubeValidator.validate(facelets));
+    }
+
+    @Test
+    void reportsFlippedEdge() {
+        byte[] facelets = facelets(new Cube());
+        swap(facelets, CubieCube.EDGE_FACELETS[0][0], CubieCube.EDGE_FACELETS[0][1]);
+        assertEquals(CubeValidator.EDGE_FLIP, CubeValidator.validate(facelets));
+    }
+
+    @Test
+    void reportsPermutationParity() {
+        byte[] facelets = facelets(new Cube());
+        for (int i = 0; i < 2; i++) {
+            swap(facelets, CubieCube.EDGE_FACELETS[0][i], CubieCube.EDGE_FACELETS[1][i]);
+        }
+        assertEquals(CubeValidator.PERMUTATION_PARITY, CubeValidator.validate(facelets));
+    }
+
+    @Test
+    void reportsMirroredCornerAndCubieCubeRejectsIt() {
+        Cube cube = new Cube();
+        cube.applySequence(MoveSequence.parse("R U F' L2 D B'"));
+        byte[] facelets = facelets(cube);
+        swap(facelets, 36, 24);
+        assertEquals(CubeValidator.INVALID_CORNER, CubeValidator.validate(facelets));
+        assertThrows(IllegalArgumentException.class, () -> CubieCube.fromFacelets(facelets));
+    }
+
+    @Test
+    void reportsStickerAndCenterErrors() {
+        byte[] facelets = facelets(new Cube());
+        facelets[0] = Cube.R;
+        assertEquals(CubeValidator.WRONG_COLOR_COUNT, CubeValidator.validate(facelets));
+
+        facelets = facelets(new Cube());
+        facelets[4] = Cube.D;
+        assertEquals(CubeValidator.DUPLICATE_CENTER, CubeValidator.validate(facelets));
+
+        facelets = facelets(new Cube());
+        facelets[5] = 6;
+        assertEquals(CubeValidator.INVALID_COLOR, CubeValidator.validate(facelets));
+
+        assertEquals(CubeValidator.WRONG_FACELET_COUNT, CubeValidator.validate(new byte[53]));
+        assertEquals(CubeValidator.WRONG_FACELET_COUNT, CubeValidator.validate(new byte[54], 1));
+    }
+
+    @Test
+    void validatesStickerArrays() {
+        Cube cube = new Cube();
+        cube.applySequence(MoveSequence.parse("R U R' U'"));
+        String[][][] state = cube.getState();
+        assertEquals(CubeValidator.VALID, CubeValidator.validate(state));
+
+        Cube copy = new Cube();
+        copy.setState(state);
+        assertEquals(cube, copy);
+
+        state[0][0][0] = "Q";
+        assertEquals(CubeValidator.INVALID_COLOR, CubeValidator.validate(state));
+        assertThrows(IllegalArgumentException.class, () -> copy.setState(state));
+        assertEquals(CubeValidator.WRONG_FACELET_COUNT, CubeValidator.validate(new String[6][3][2]));
+    }
+
+    @Test
+    void parsesColorLetters() {
+        byte[] facelets = new byte[Cube.FACELET_COUNT];
+        assertEquals(CubeValidator.VALID, CubeValidator.parse(SOLVED, facelets));
+        assertArrayEquals(facelets(new Cube()), facelets);
+        assertEquals(CubeValidator.INVALID_COLOR, CubeValidator.parse(SOLVED.replace('B', 'X'), facelets));
+        assertEquals(CubeValidator.WRONG_FACELET_COUNT, CubeValidator.parse(SOLVED.substring(1), facelets));
+    }
+
+    @Test
+    void validatesPackedStatesInBulk() {
+        byte[] solved = facelets(new Cube());
+        byte[] packed = new byte[3 * Cube.FACELET_COUNT];
+        for (int i = 0; i < 3; i++) {
+            System.arraycopy(solved, 0, packed, i * Cube.FACELET_COUNT, Cube.FACELET_COUNT);
+        }
+        swap(packed, Cube.FACELET_COUNT + CubieCube.EDGE_FACELETS[3][0],
+                Cube.FACELET_COUNT + CubieCube.EDGE_FACELETS[3][1]);
+
+        int[] results = new int[3];
+        CubeValidator.validateAll(packed, results);
+        assertArrayEquals(new int[]{CubeValidator.VALID, CubeValidator.EDGE_FLIP, CubeValidator.VALID}, results);
+    }
+
+    private static byte[] facelets(Cube cube) {
+        byte[] facelets = new byte[Cube.FACELET_COUNT];
+        cube.copyFaceletsTo(facelets);
+        return facelets;
+    }
+
+    private static void swap(byte[] facelets, int a, int b) {
+        byte swap = facelets[a];
+        facelets[a] = facelets[b];
+        facelets[b] = swap;
+    }
+}
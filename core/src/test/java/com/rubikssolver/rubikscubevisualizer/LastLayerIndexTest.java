@@ -0,0 +1,67 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LastLayerIndexTest {
+    private static final String[] U_TURNS = {"", "U", "U2", "U'"};
+
+    @Test
+    void solvesEveryPllCaseUnderEveryAuf() {
+        List<Algorithm> plls = algorithms("PLL");
+        assertFalse(plls.isEmpty());
+        for (Algorithm algorithm : plls) {
+            for (int before = 0; before < 4; before++) {
+                for (int after = 0; after < 4; after++) {
+                    Cube cube = new Cube();
+                    cube.applySequence(MoveSequence.parse(U_TURNS[before])
+                            .then(algorithm.getSequence().inverse())
+                            .then(MoveSequence.parse(U_TURNS[after])));
+                    String description = algorithm.getName() + " with " + U_TURNS[before] + " before and "
+                            + U_TURNS[after] + " after";
+
+                    LastLayerMatch match = LastLayerIndex.shared().recognize(cube);
+                    assertNotNull(match, description);
+                    cube.applySequence(match.getSequence());
+                    assertTrue(cube.isSolved(), description + ": " + match);
+                }
+            }
+        }
+    }
+
+    @Test
+    void orientsEveryOllCase() {
+        for (Algorithm algorithm : algorithms("OLL")) {
+            for (int before = 0; before < 4; before++) {
+                Cube cube = new Cube();
+                cube.applySequence(MoveSequence.parse(U_TURNS[before]).then(algorithm.getSequence().inverse()));
+
+                LastLayerMatch match = LastLayerIndex.shared().recognize(cube);
+                assertNotNull(match, algorithm.getName());
+                cube.applySequence(match.getSequence());
+                for (int i = 0; i < 9; i++) {
+                    assertEquals(Cube.U, cube.getFacelet(Cube.U * 9 + i), algorithm.getName() + ": " + match);
+                }
+            }
+        }
+    }
+
+    private static List<Algorithm> algorithms(String category) {
+        List<Algorithm> algorithms = new ArrayList<>();
+        for (TreeNode node : AlgorithmFactory.getAlgorithmTree().getChildren()) {
+            if (node.getName().equals(category)) {
+                for (TreeNode child : node.getChildren()) {
+                    algorithms.add(AlgorithmFactory.getAlgorithm(child.getName()));
+                }
+            }
+        }
+        return algorithms;
+    }
+}
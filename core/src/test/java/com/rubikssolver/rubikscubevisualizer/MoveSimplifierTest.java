@@ -0,0 +1,75 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoveSimplifierTest {
+    /**
+     * The move bases about each axis: U/D, R/L and F/B, with their wide turns, slice and rotation.
+     */
+    private static final int[][] AXIS_BASES = {
+            {0, 3, 6, 9, 13, 16},
+            {1, 4, 7, 10, 12, 15},
+            {2, 5, 8, 11, 14, 17}
+    };
+
+    @Test
+    void mergesAndCancelsTurns() {
+        assertSimplifies("R R", "R2");
+        assertSimplifies("R R'", "");
+        assertSimplifies("R U U' R'", "");
+        assertSimplifies("U D U", "U2 D");
+        assertSimplifies("D' y U", "U D' y");
+        assertSimplifies("R U R' U'", "R U R' U'");
+    }
+
+    @Test
+    void preservesEffect() {
+        SplittableRandom random = new SplittableRandom(1);
+        for (int n = 0; n < 2000; n++) {
+            MoveSequence sequence = randomSequence(random);
+            MoveSequence simplified = MoveSimplifier.simplify(sequence);
+
+            Cube expected = new Cube();
+            expected.applySequence(sequence);
+            Cube actual = new Cube();
+            actual.applySequence(simplified);
+            assertEquals(expected, actual, sequence + " -> " + simplified);
+            assertTrue(simplified.length() <= sequence.length(), sequence + " -> " + simplified);
+        }
+    }
+
+    @Test
+    void isIdempotent() {
+        SplittableRandom random = new SplittableRandom(2);
+        for (int n = 0; n < 2000; n++) {
+            MoveSequence simplified = MoveSimplifier.simplify(randomSequence(random));
+            assertEquals(simplified, MoveSimplifier.simplify(simplified), simplified.toString());
+        }
+    }
+
+    private static void assertSimplifies(String notation, String expected) {
+        assertEquals(MoveSequence.parse(expected), MoveSimplifier.simplify(MoveSequence.parse(notation)), notation);
+    }
+
+    /**
+     * Draws a sequence over every move code, half the time staying on the previous axis so runs of commuting
+     * turns, which the simplifier merges, come up often.
+     */
+    private static MoveSequence randomSequence(SplittableRandom random) {
+        byte[] codes = new byte[random.nextInt(30)];
+        int axis = random.nextInt(3);
+        for (int i = 0; i < codes.length; i++) {
+            if (random.nextBoolean()) {
+                axis = random.nextInt(3);
+            }
+            int[] bases = AXIS_BASES[axis];
+            codes[i] = (byte) (bases[random.nextInt(bases.length)] * 3 + random.nextInt(3));
+        }
+        return MoveSequence.ofCodes(codes);
+    }
+}
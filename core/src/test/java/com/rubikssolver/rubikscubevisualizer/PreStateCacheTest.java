@@ -0,0 +1,55 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PreStateCacheTest {
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        List<String> names = AlgorithmFactory.getAllAlgorithmNames().subList(0, 5);
+        PreStateCache cache = new PreStateCache(4);
+        byte[] facelets = new byte[Cube.FACELET_COUNT];
+        for (String name : names) {
+            cache.copyPreState(name, facelets);
+        }
+
+        assertEquals(4, cache.size());
+        assertFalse(cache.contains(names.get(0)));
+        for (String name : names.subList(1, 5)) {
+            assertTrue(cache.contains(name), name);
+        }
+    }
+
+    @Test
+    void keepsEntriesThatWereUsedAgain() {
+        List<String> names = AlgorithmFactory.getAllAlgorithmNames().subList(0, 5);
+        PreStateCache cache = new PreStateCache(4);
+        byte[] facelets = new byte[Cube.FACELET_COUNT];
+        for (String name : names.subList(0, 4)) {
+            cache.copyPreState(name, facelets);
+        }
+        cache.copyPreState(names.get(0), facelets);
+        cache.copyPreState(names.get(4), facelets);
+
+        assertTrue(cache.contains(names.get(0)));
+        assertFalse(cache.contains(names.get(1)));
+        assertTrue(cache.contains(names.get(4)));
+    }
+
+    @Test
+    void copiesThePreStateTheAlgorithmSolves() {
+        String name = AlgorithmFactory.getAllAlgorithmNames().get(0);
+        byte[] facelets = new byte[Cube.FACELET_COUNT];
+        new PreStateCache(4).copyPreState(name, facelets);
+
+        Cube cube = new Cube();
+        cube.setFacelets(facelets);
+        cube.applySequence(AlgorithmFactory.getAlgorithm(name).getSequence());
+        assertTrue(cube.isSolved());
+    }
+}
@@ -0,0 +1,58 @@
+package com.rubikssolver.rubikscubevisualizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TableFileTest {
+    private static final long[] SECTION_BYTES = {3, 100};
+
+    @Test
+    void mapsWhatWasWritten() throws IOException {
+        Path path = write();
+
+        assertTrue(Files.exists(path.resolveSibling(path.getFileName() + ".verified")));
+        List<MemorySegment> sections = TableFile.map(path, 1, SECTION_BYTES);
+        assertNotNull(sections);
+        assertArrayEquals(new byte[]{1, 2, 3}, sections.get(0).toArray(ValueLayout.JAVA_BYTE));
+        assertNull(TableFile.map(path, 2, SECTION_BYTES));
+    }
+
+    @Test
+    void checksumsFileChangedSinceItWasVerified() throws IOException {
+        Path path = write();
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(path, bytes);
+        Files.setLastModifiedTime(path, FileTime.fromMillis(Files.getLastModifiedTime(path).toMillis() + 2000));
+
+        assertNull(TableFile.map(path, 1, SECTION_BYTES));
+    }
+
+    @Test
+    void checksumsFileWithoutStamp() throws IOException {
+        Path path = write();
+        Files.delete(path.resolveSibling(path.getFileName() + ".verified"));
+
+        assertNotNull(TableFile.map(path, 1, SECTION_BYTES));
+        assertTrue(Files.exists(path.resolveSibling(path.getFileName() + ".verified")));
+    }
+
+    private static Path write() throws IOException {
+        Path path = Files.createTempDirectory("tables").resolve("test.tbl");
+        TableFile.write(path, 1, List.of(MemorySegment.ofArray(new byte[]{1, 2, 3}),
+                MemorySegment.ofArray(new byte[100])));
+        return path;
+    }
+}
@@ -1,9 +0,0 @@
-module com.rubikssolver.rubikscubevisualizer {
-    requires javafx.controls;
-    requires javafx.fxml;
-    requires org.jgrapht.core;
-
-
-    opens com.rubikssolver.rubikscubevisualizer to javafx.fxml;
-    exports com.rubikssolver.rubikscubevisualizer;
-}
\ No newline at end of file
@@ -0,0 +1,190 @@
+package com.rubikssolver.rubikscubevisualizer.ui;
+
+import com.rubikssolver.rubikscubevisualizer.FaceletCube;
+import com.rubikssolver.rubikscubevisualizer.LatencyHistogram;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@link Canvas} {@link CubeRenderer}: draws the nets of one or more cubes of the same size, laid out in a
+ * grid, onto a single canvas with no node per sticker.
+ * <p>
+ * What is on the canvas is mirrored in one byte array holding the color of every sticker of every cube. A frame
+ * compares the cubes against it, collects the stickers that differ and redraws just those rectangles, batched by
+ * color so the fill is set at most six times; the rest of the canvas is left as it was. The first frame finds
+ * every sticker dirty and so draws the whole grid in the same single pass.
+ */
+public class CanvasRenderer implements CubeRenderer {
+    private static final int NET_ROWS = 3;
+    private static final int NET_COLUMNS = 4;
+
+    private final FaceletCube[] cubes;
+    private final Pane area;
+    private final Canvas canvas;
+    private final GraphicsContext graphics;
+    private final int columns;
+    private final double stickerSize;
+    private final double cellWidth;
+    private final double cellHeight;
+    private final int faceletCount;
+
+    /**
+     * The offset of each facelet's sticker inside a cube's cell.
+     */
+    private final double[] stickerX;
+    private final double[] stickerY;
+
+    /**
+     * The color drawn for each sticker, cube by cube, or -1 before it was first drawn.
+     */
+    private final byte[] shown;
+    private final int[] dirty;
+    private final byte[] facelets;
+    private final LatencyHistogram frameTimes = new LatencyHistogram();
+
+    /**
+     * Creates a renderer for a single cube at the same size as {@link Visualizer}.
+     */
+    public CanvasRenderer(FaceletCube cube, Pane area) {
+        this(List.of(cube), area, 1, Visualizer.stickerPitch(cube.getSize()) - Visualizer.stickerGap(cube.getSize()),
+                Visualizer.stickerGap(cube.getSize()));
+    }
+
+    /**
+     * Creates a renderer for a grid of cubes, filled row by row.
+     *
+     * @param cubes       The cubes to draw, all of one size.
+     * @param area        The pane to put the canvas in.
+     * @param columns     How many cubes go in a row.
+     * @param stickerSize The width of one sticker in pixels.
+     * @param gap         The space between stickers, and around each cube, in pixels.
+     */
+    public CanvasRenderer(List<? extends FaceletCube> cubes, Pane area, int columns, double stickerSize, double gap) {
+        this.cubes = cubes.toArray(new FaceletCube[0]);
+        this.area = area;
+        this.columns = columns;
+        this.stickerSize = stickerSize;
+
+        int size = this.cubes[0].getSize();
+        for (FaceletCube cube : this.cubes) {
+            if (cube.getSize() != size) {
+                throw new IllegalArgumentException("Cubes of sizes " + size + " and " + cube.getSize()
+                        + " in one grid");
+            }
+        }
+        this.faceletCount = this.cubes[0].getFaceletCount();
+        this.stickerX = new double[faceletCount];
+        this.stickerY = new double[faceletCount];
+        this.facelets = new byte[faceletCount];
+
+        double pitch = stickerSize + gap;
+        this.cellWidth = NET_COLUMNS * size * pitch + gap;
+        this.cellHeight = NET_ROWS * size * pitch + gap;
+        int perFace = size * size;
+        for (int face = 0; face < 6; face++) {
+            int[] pos = Visualizer.FACE_POSITIONS[face];
+            for (int i = 0; i < perFace; i++) {
+                stickerX[face * perFace + i] = (pos[1] * size + i % size) * pitch;
+                stickerY[face * perFace + i] = (pos[0] * size + i / size) * pitch;
+            }
+        }
+
+        int rows = (this.cubes.length + columns - 1) / columns;
+        this.canvas = new Canvas(Math.min(this.cubes.length, columns) * cellWidth, rows * cellHeight);
+        this.graphics = canvas.getGraphicsContext2D();
+        this.shown = new byte[this.cubes.length * faceletCount];
+        this.dirty = new int[shown.length];
+        Arrays.fill(shown, (byte) -1);
+        area.getChildren().add(canvas);
+    }
+
+    @Override
+    public void render() {
+        long start = System.nanoTime();
+        int count = 0;
+        for (int c = 0; c < cubes.length; c++) {
+            cubes[c].copyFaceletsTo(facelets);
+            int base = c * faceletCount;
+            for (int i = 0; i < faceletCount; i++) {
+                if (shown[base + i] != facelets[i]) {
+                    shown[base + i] = facelets[i];
+                    dirty[count++] = base + i;
+                }
+            }
+        }
+        draw(count);
+        frameTimes.record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void render(int move) {
+        long start = System.nanoTime();
+        int[] moved = cubes[0].movedFacelets(move);
+        int count = 0;
+        for (int c = 0; c < cubes.length; c++) {
+            int base = c * faceletCount;
+            for (int i : moved) {
+                byte color = cubes[c].getFacelet(i);
+                if (shown[base + i] != color) {
+                    shown[base + i] = color;
+                    dirty[count++] = base + i;
+                }
+            }
+        }
+        draw(count);
+        frameTimes.record(System.nanoTime() - start);
+    }
+
+    /**
+     * Redraws the first {@code count} stickers in {@link #dirty}: all fills of one color together, then the
+     * outlines.
+     */
+    private void draw(int count) {
+        if (count == 0) {
+            return;
+        }
+        for (int color = 0; color < Visualizer.COLORS.length; color++) {
+            graphics.setFill(Visualizer.COLORS[color]);
+            for (int d = 0; d < count; d++) {
+                int sticker = dirty[d];
+                if (shown[sticker] == color) {
+                    graphics.fillRect(x(sticker), y(sticker), stickerSize, stickerSize);
+                }
+            }
+        }
+        if (stickerSize >= Visualizer.MIN_OUTLINED_SIZE) {
+            graphics.setStroke(Color.BLACK);
+            graphics.setLineWidth(1);
+            for (int d = 0; d < count; d++) {
+                int sticker = dirty[d];
+                graphics.strokeRect(x(sticker) + 0.5, y(sticker) + 0.5, stickerSize - 1, stickerSize - 1);
+            }
+        }
+    }
+
+    private double x(int sticker) {
+        int cube = sticker / faceletCount;
+        return cube % columns * cellWidth + stickerX[sticker % faceletCount];
+    }
+
+    private double y(int sticker) {
+        int cube = sticker / faceletCount;
+        return cube / columns * cellHeight + stickerY[sticker % faceletCount];
+    }
+
+    @Override
+    public FrameStatistics getFrameStatistics() {
+        return new FrameStatistics(frameTimes);
+    }
+
+    @Override
+    public void dispose() {
+        area.getChildren().remove(canvas);
+    }
+}
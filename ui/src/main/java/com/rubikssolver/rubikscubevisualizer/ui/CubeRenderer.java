@@ -0,0 +1,32 @@
+package com.rubikssolver.rubikscubevisualizer.ui;
+
+/**
+ * Draws one or more cubes into a pane. The controller only talks to this interface, so the drawing backend can
+ * be swapped while the application runs.
+ * <p>
+ * Implementations keep what they last drew and only redraw stickers whose color changed. Every call to a
+ * {@code render} method is timed; the figures are in {@link #getFrameStatistics()}.
+ */
+public interface CubeRenderer {
+    /**
+     * Brings the drawing up to date with the cubes, whatever changed.
+     */
+    void render();
+
+    /**
+     * Brings the drawing up to date after one move was applied, looking only at the facelets that move changes.
+     *
+     * @param move The move code that was applied.
+     */
+    void render(int move);
+
+    /**
+     * Gets the time spent in {@code render} calls so far.
+     */
+    FrameStatistics getFrameStatistics();
+
+    /**
+     * Removes everything the renderer added to its pane.
+     */
+    void dispose();
+}
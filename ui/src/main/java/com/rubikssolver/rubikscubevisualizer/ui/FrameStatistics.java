@@ -0,0 +1,38 @@
+package com.rubikssolver.rubikscubevisualizer.ui;
+
+import com.rubikssolver.rubikscubevisualizer.LatencyHistogram;
+
+/**
+ * How long a {@link CubeRenderer} has spent per frame. This is the time taken on the application thread to
+ * update the scene graph or record canvas commands; rasterizing happens later, on the render thread.
+ */
+public final class FrameStatistics {
+    private final LatencyHistogram frameTimes;
+
+    FrameStatistics(LatencyHistogram frameTimes) {
+        this.frameTimes = frameTimes;
+    }
+
+    public long getFrames() {
+        return frameTimes.count();
+    }
+
+    public double getMeanFrameNanos() {
+        return frameTimes.mean();
+    }
+
+    /**
+     * Gets a frame time percentile, within about 3%.
+     *
+     * @param fraction Between 0 and 1, e.g. 0.99 for the 99th percentile.
+     */
+    public long getFrameNanos(double fraction) {
+        return frameTimes.percentile(fraction);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d frames, mean %.1f µs, p99 %.1f µs", getFrames(), getMeanFrameNanos() / 1e3,
+                getFrameNanos(0.99) / 1e3);
+    }
+}
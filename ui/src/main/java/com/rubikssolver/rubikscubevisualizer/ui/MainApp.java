@@ -1,4 +1,6 @@
-package com.rubikssolver.rubikscubevisualizer;
+package com.rubikssolver.rubikscubevisualizer.ui;
+
+import com.rubikssolver.rubikscubevisualizer.BatchSolver;
 
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
@@ -6,10 +8,12 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
+import java.util.Arrays;
+
 public class MainApp extends Application {
     @Override
     public void start(Stage stage) throws Exception {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/rubikssolver/rubikscubevisualizer/VisualizerLayout.fxml"));
+        FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/rubikssolver/rubikscubevisualizer/ui/VisualizerLayout.fxml"));
         Parent root = loader.load();
 
         Scene scene = new Scene(root);
@@ -20,7 +24,11 @@ public class MainApp extends Application {
         stage.show();
     }
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            BatchSolver.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         launch(args);
     }
 }
\ No newline at end of file
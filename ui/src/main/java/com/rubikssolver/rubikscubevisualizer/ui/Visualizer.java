@@ -0,0 +1,155 @@
+package com.rubikssolver.rubikscubevisualizer.ui;
+
+import com.rubikssolver.rubikscubevisualizer.Cube;
+import com.rubikssolver.rubikscubevisualizer.FaceletCube;
+import com.rubikssolver.rubikscubevisualizer.LatencyHistogram;
+
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+
+/**
+ * The scene-graph {@link CubeRenderer}: draws a cube of any size as an unfolded net with one node per sticker.
+ * <p>
+ * The sticker nodes are created once and never replaced. Each one remembers the color it shows, and rendering
+ * only changes the fill of stickers whose facelet now holds a different color, so a move touches at most the
+ * stickers it moves and nothing is laid out again. Many visualizers can share a scene this way. Every size
+ * takes the room of a 3x3x3 drawn with 20 pixel stickers; larger cubes get smaller stickers.
+ */
+public class Visualizer implements CubeRenderer {
+    private final FaceletCube cube;
+    private final Pane cubeArea;
+    private final Pane stickerPane;
+    private final Rectangle[] stickers;
+    private final byte[] shown;
+    private final LatencyHistogram frameTimes = new LatencyHistogram();
+
+    public static final int U = Cube.U;
+    public static final int R = Cube.R;
+    public static final int F = Cube.F;
+    public static final int D = Cube.D;
+    public static final int L = Cube.L;
+    public static final int B = Cube.B;
+
+    private static final double RECT_SIZE = 20;
+    private static final double RECT_GAP = 2;
+    private static final double FACE_WIDTH = 3 * (RECT_SIZE + RECT_GAP);
+
+    /**
+     * Stickers smaller than this are drawn without an outline, which would cover most of them.
+     */
+    static final double MIN_OUTLINED_SIZE = 8;
+
+    /**
+     * The net position of each face, as {row, column} in faces.
+     */
+    static final int[][] FACE_POSITIONS = new int[6][];
+
+    /**
+     * The fill of each color, indexed by the face the color belongs to when solved.
+     */
+    static final Color[] COLORS = new Color[6];
+
+    static {
+        FACE_POSITIONS[U] = new int[]{0, 1};
+        FACE_POSITIONS[L] = new int[]{1, 0};
+        FACE_POSITIONS[F] = new int[]{1, 1};
+        FACE_POSITIONS[R] = new int[]{1, 2};
+        FACE_POSITIONS[B] = new int[]{1, 3};
+        FACE_POSITIONS[D] = new int[]{2, 1};
+
+        COLORS[U] = Color.YELLOW;
+        COLORS[R] = Color.ORANGE;
+        COLORS[F] = Color.GREEN;
+        COLORS[D] = Color.WHITE;
+        COLORS[L] = Color.RED;
+        COLORS[B] = Color.BLUE;
+    }
+
+    public Visualizer(FaceletCube cube, Pane cubeArea) {
+        this.cube = cube;
+        this.cubeArea = cubeArea;
+        this.stickerPane = new Pane();
+        this.stickers = new Rectangle[cube.getFaceletCount()];
+        this.shown = new byte[cube.getFaceletCount()];
+        cubeArea.getChildren().add(stickerPane);
+
+        initializeStickers();
+    }
+
+    /**
+     * Gets the distance between neighboring sticker corners for a cube size.
+     */
+    static double stickerPitch(int size) {
+        return FACE_WIDTH / size;
+    }
+
+    /**
+     * Gets the space between neighboring stickers for a cube size.
+     */
+    static double stickerGap(int size) {
+        return RECT_GAP * 3 / size;
+    }
+
+    private void initializeStickers() {
+        int size = cube.getSize();
+        double pitch = stickerPitch(size);
+        double rectSize = pitch - stickerGap(size);
+        for (int face = 0; face < 6; face++) {
+            int[] pos = FACE_POSITIONS[face];
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    int index = (face * size + row) * size + col;
+                    Rectangle rect = new Rectangle(rectSize, rectSize);
+                    if (rectSize >= MIN_OUTLINED_SIZE) {
+                        rect.setStroke(Color.BLACK);
+                    }
+                    rect.relocate((pos[1] * size + col) * pitch, (pos[0] * size + row) * pitch);
+                    rect.setManaged(false);
+
+                    byte color = cube.getFacelet(index);
+                    rect.setFill(COLORS[color]);
+                    shown[index] = color;
+                    stickers[index] = rect;
+                }
+            }
+        }
+        stickerPane.getChildren().addAll(stickers);
+    }
+
+    @Override
+    public void render() {
+        long start = System.nanoTime();
+        for (int index = 0; index < stickers.length; index++) {
+            update(index);
+        }
+        frameTimes.record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void render(int move) {
+        long start = System.nanoTime();
+        for (int index : cube.movedFacelets(move)) {
+            update(index);
+        }
+        frameTimes.record(System.nanoTime() - start);
+    }
+
+    @Override
+    public FrameStatistics getFrameStatistics() {
+        return new FrameStatistics(frameTimes);
+    }
+
+    @Override
+    public void dispose() {
+        cubeArea.getChildren().remove(stickerPane);
+    }
+
+    private void update(int index) {
+        byte color = cube.getFacelet(index);
+        if (shown[index] != color) {
+            shown[index] = color;
+            stickers[index].setFill(COLORS[color]);
+        }
+    }
+}
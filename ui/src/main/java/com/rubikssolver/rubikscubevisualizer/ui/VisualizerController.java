@@ -0,0 +1,630 @@
+package com.rubikssolver.rubikscubevisualizer.ui;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.fxml.FXML;
+import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.control.Label;
+import javafx.scene.control.Slider;
+
+import java.util.Set;
+
+import com.rubikssolver.rubikscubevisualizer.Algorithm;
+import com.rubikssolver.rubikscubevisualizer.AlgorithmFactory;
+import com.rubikssolver.rubikscubevisualizer.Cube;
+import com.rubikssolver.rubikscubevisualizer.CubieCube;
+import com.rubikssolver.rubikscubevisualizer.EffectIndex;
+import com.rubikssolver.rubikscubevisualizer.FaceletCube;
+import com.rubikssolver.rubikscubevisualizer.LastLayerIndex;
+import com.rubikssolver.rubikscubevisualizer.LastLayerMatch;
+import com.rubikssolver.rubikscubevisualizer.Move;
+import com.rubikssolver.rubikscubevisualizer.MoveGraph;
+import com.rubikssolver.rubikscubevisualizer.MoveSequence;
+import com.rubikssolver.rubikscubevisualizer.NxNCube;
+import com.rubikssolver.rubikscubevisualizer.Playback;
+import com.rubikssolver.rubikscubevisualizer.PreStateCache;
+import com.rubikssolver.rubikscubevisualizer.SolverStatistics;
+import com.rubikssolver.rubikscubevisualizer.TreeNode;
+import com.rubikssolver.rubikscubevisualizer.TwoPhaseSolver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
+
+public class VisualizerController {
+
+    @FXML
+    private Pane cubeArea;
+
+    @FXML
+    private ComboBox<String> algorithmDropdown;
+
+    @FXML
+    private Button playButton;
+
+    @FXML
+    private Button pauseButton;
+
+    @FXML
+    private Button stepForwardButton;
+
+    @FXML
+    private Button stepBackwardButton;
+
+    @FXML
+    private Button solveButton;
+
+    @FXML
+    private Button recognizeButton;
+
+    @FXML
+    private Label currentMoveLabel;
+
+    @FXML
+    private Label stepCountLabel;
+
+    @FXML
+    private Label algorithmSequenceLabel;
+
+    @FXML
+    private ComboBox<String> categoryDropdown;
+
+    @FXML
+    private Label similarAlgorithmsLabel;
+
+    @FXML
+    private ComboBox<String> similarityDropdown;
+
+    @FXML
+    private ComboBox<String> rendererDropdown;
+
+    @FXML
+    private Label frameTimeLabel;
+
+    @FXML
+    private Slider scrubber;
+
+    @FXML
+    private ComboBox<String> speedDropdown;
+
+    @FXML
+    private ComboBox<String> sizeDropdown;
+
+    private FaceletCube cube;
+    private CubeRenderer renderer;
+    private Algorithm currentAlgorithm;
+    private Playback playback;
+
+    private final AnimationTimer player = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            advancePlayback(now);
+        }
+    };
+    private boolean playing;
+    private long lastPulse;
+    private double pendingMoves;
+    private double movesPerSecond = DEFAULT_SPEED;
+
+    private final MoveGraph moveGraph = new MoveGraph();
+    private final TwoPhaseSolver solver = new TwoPhaseSolver();
+    private boolean solving;
+
+    private static final String SHARED_MOVES = "Shared moves";
+    private static final String SIMILAR_EFFECT = "Similar effect";
+    private static final int SIMILAR_EFFECT_COUNT = 3;
+
+    private static final String SCENE_GRAPH = "Scene graph";
+    private static final String CANVAS = "Canvas";
+    private static final String PRE_STATE_GRID = "Canvas, all pre-states";
+    private static final int PRE_STATE_COLUMNS = 6;
+
+    private static final int[] SPEEDS = {1, 2, 5, 20, 100, 1000, 5000};
+    private static final int DEFAULT_SPEED = 2;
+
+    private static final int[] SIZES = {2, 3, 4, 5, 6, 7, 9, 13};
+
+    @FXML
+    private void initialize() {
+        PreStateCache.shared().precomputeAll();
+        cube = new Cube();
+        renderer = new Visualizer(cube, cubeArea);
+        renderer.render();
+
+        algorithmDropdown.setDisable(true);
+
+        TreeNode root = AlgorithmFactory.getAlgorithmTree();
+        List<String> categories = root.getChildren().stream()
+                .map(TreeNode::getName)
+                .toList();
+        categoryDropdown.getItems().addAll(categories);
+
+        playButton.setDisable(true);
+        pauseButton.setDisable(true);
+        stepForwardButton.setDisable(true);
+        stepBackwardButton.setDisable(true);
+
+        algorithmSequenceLabel.setText("Algorithm: ");
+        currentMoveLabel.setText("Current Move: ");
+        stepCountLabel.setText("Step: 0/0");
+        scrubber.setBlockIncrement(1);
+        scrubber.setMajorTickUnit(1);
+        scrubber.setMinorTickCount(0);
+        scrubber.setSnapToTicks(true);
+        clearPlayback();
+
+        similarityDropdown.getItems().addAll(SHARED_MOVES, SIMILAR_EFFECT);
+        similarityDropdown.getSelectionModel().select(SHARED_MOVES);
+        rendererDropdown.getItems().addAll(SCENE_GRAPH, CANVAS, PRE_STATE_GRID);
+        rendererDropdown.getSelectionModel().select(SCENE_GRAPH);
+        for (int speed : SPEEDS) {
+            speedDropdown.getItems().add(speedName(speed));
+        }
+        speedDropdown.getSelectionModel().select(speedName(DEFAULT_SPEED));
+        for (int size : SIZES) {
+            sizeDropdown.getItems().add(size + "x" + size + "x" + size);
+        }
+        sizeDropdown.getSelectionModel().select("3x3x3");
+
+        categoryDropdown.setOnAction(e -> onCategorySelected());
+        algorithmDropdown.setOnAction(e -> onAlgorithmSelected());
+        similarityDropdown.setOnAction(e -> showSimilarAlgorithms());
+        rendererDropdown.setOnAction(e -> switchRenderer());
+        sizeDropdown.setOnAction(e -> onSizeSelected());
+        speedDropdown.setOnAction(e -> movesPerSecond = SPEEDS[speedDropdown.getSelectionModel().getSelectedIndex()]);
+
+        playButton.setOnAction(e -> playAlgorithm());
+        pauseButton.setOnAction(e -> pauseAlgorithm());
+        stepForwardButton.setOnAction(e -> stepForward());
+        stepBackwardButton.setOnAction(e -> stepBackward());
+        solveButton.setOnAction(e -> solveCurrentState());
+        recognizeButton.setOnAction(e -> recognizeLastLayer());
+        scrubber.valueProperty().addListener((observable, oldValue, newValue) -> seek(newValue.intValue()));
+    }
+
+    private void onCategorySelected() {
+        String selectedCategory = categoryDropdown.getSelectionModel().getSelectedItem();
+        if (selectedCategory != null) {
+            algorithmDropdown.getItems().clear();
+
+            TreeNode root = AlgorithmFactory.getAlgorithmTree();
+            TreeNode categoryNode = root.getChildren().stream()
+                    .filter(node -> node.getName().equals(selectedCategory))
+                    .findFirst()
+                    .orElse(null);
+
+            if (categoryNode != null) {
+                List<String> algorithms = categoryNode.getChildren().stream()
+                        .map(TreeNode::getName)
+                        .toList();
+                algorithmDropdown.getItems().addAll(algorithms);
+                algorithmDropdown.setDisable(false);
+            } else {
+                algorithmDropdown.setDisable(true);
+            }
+
+            algorithmDropdown.getSelectionModel().clearSelection();
+            algorithmSequenceLabel.setText("Algorithm: ");
+            currentMoveLabel.setText("Current Move: ");
+            stepCountLabel.setText("Step: 0/0");
+            currentAlgorithm = null;
+            clearPlayback();
+
+            playButton.setDisable(true);
+            pauseButton.setDisable(true);
+            stepForwardButton.setDisable(true);
+            stepBackwardButton.setDisable(true);
+
+            similarAlgorithmsLabel.setText("Similar Algorithms: ");
+        }
+    }
+
+    private void onAlgorithmSelected() {
+        String selectedAlgorithm = algorithmDropdown.getSelectionModel().getSelectedItem();
+        if (selectedAlgorithm != null) {
+            currentAlgorithm = AlgorithmFactory.getAlgorithm(selectedAlgorithm);
+            if (currentAlgorithm != null) {
+                stopPlayback();
+                loadAlgorithm();
+                showSimilarAlgorithms();
+            }
+        }
+    }
+
+    /**
+     * Sets the cube to the pre-state of the current algorithm and loads the algorithm for playing. Algorithms with
+     * a move the cube has no layer for, such as a slice on a 2x2x2, are shown but cannot be played.
+     */
+    private void loadAlgorithm() {
+        MoveSequence sequence = currentAlgorithm.getSequence();
+        try {
+            setPreState(cube, currentAlgorithm);
+        } catch (IllegalArgumentException e) {
+            cube.reset();
+            render();
+            clearPlayback();
+            algorithmSequenceLabel.setText("Algorithm: " + sequence + " (" + e.getMessage() + ")");
+            playButton.setDisable(true);
+            pauseButton.setDisable(true);
+            stepForwardButton.setDisable(true);
+            stepBackwardButton.setDisable(true);
+            return;
+        }
+        render();
+
+        algorithmSequenceLabel.setText("Algorithm: " + sequence);
+        loadPlayback(sequence);
+        playButton.setDisable(false);
+        pauseButton.setDisable(true);
+        stepForwardButton.setDisable(false);
+        stepBackwardButton.setDisable(true);
+    }
+
+    /**
+     * Puts a cube in the state an algorithm solves. 3x3x3 pre-states come from the shared {@link PreStateCache};
+     * other sizes play the inverse sequence from solved.
+     */
+    private static void setPreState(FaceletCube target, Algorithm algorithm) {
+        if (target instanceof Cube standard) {
+            standard.selectAlgorithm(algorithm.getName());
+            return;
+        }
+        target.reset();
+        MoveSequence inverse = algorithm.getSequence().inverse();
+        for (int i = 0; i < inverse.length(); i++) {
+            target.applyMove(inverse.moveAt(i));
+        }
+    }
+
+    /**
+     * Replaces the cube with a solved one of the size picked in the dropdown. The solver and last-layer
+     * recognition only work on the 3x3x3, so they are disabled for other sizes.
+     */
+    private void onSizeSelected() {
+        int selected = sizeDropdown.getSelectionModel().getSelectedIndex();
+        if (selected < 0 || SIZES[selected] == cube.getSize()) return;
+
+        stopPlayback();
+        int size = SIZES[selected];
+        cube = size == 3 ? new Cube() : new NxNCube(size);
+        solveButton.setDisable(size != 3 || solving);
+        recognizeButton.setDisable(size != 3);
+        switchRenderer();
+
+        if (currentAlgorithm != null && AlgorithmFactory.getAlgorithm(currentAlgorithm.getName()) != null) {
+            loadAlgorithm();
+        } else {
+            currentAlgorithm = null;
+            clearPlayback();
+            algorithmSequenceLabel.setText("Algorithm: ");
+            currentMoveLabel.setText("Current Move: ");
+            stepCountLabel.setText("Step: 0/0");
+            playButton.setDisable(true);
+            pauseButton.setDisable(true);
+            stepForwardButton.setDisable(true);
+            stepBackwardButton.setDisable(true);
+        }
+    }
+
+    /**
+     * Replaces the renderer with the backend picked in the dropdown. The pre-state grid draws the current cube
+     * first, followed by the pre-state of every algorithm in the library that the current size can play, all on
+     * one canvas.
+     */
+    private void switchRenderer() {
+        String selected = rendererDropdown.getSelectionModel().getSelectedItem();
+        if (selected == null) return;
+
+        renderer.dispose();
+        renderer = switch (selected) {
+            case CANVAS -> new CanvasRenderer(cube, cubeArea);
+            case PRE_STATE_GRID -> {
+                List<FaceletCube> cubes = new ArrayList<>();
+                cubes.add(cube);
+                for (String name : AlgorithmFactory.getAllAlgorithmNames()) {
+                    FaceletCube preState = cube.getSize() == 3 ? new Cube() : new NxNCube(cube.getSize());
+                    try {
+                        setPreState(preState, AlgorithmFactory.getAlgorithm(name));
+                        cubes.add(preState);
+                    } catch (IllegalArgumentException e) {
+                        // The algorithm turns a layer this size does not have.
+                    }
+                }
+                double pitch = 12.0 / cube.getSize();
+                yield new CanvasRenderer(cubes, cubeArea, PRE_STATE_COLUMNS, pitch * 3 / 4, pitch / 4);
+            }
+            default -> new Visualizer(cube, cubeArea);
+        };
+        render();
+    }
+
+    private void render() {
+        renderer.render();
+        frameTimeLabel.setText("Frame time: " + renderer.getFrameStatistics());
+    }
+
+    private void render(int move) {
+        renderer.render(move);
+        frameTimeLabel.setText("Frame time: " + renderer.getFrameStatistics());
+    }
+
+    /**
+     * Starts playing a sequence from the cube's current state, with the scrubber covering every step.
+     */
+    private void loadPlayback(MoveSequence sequence) {
+        // Reset the scrubber while there is no playback, or clamping its value to the new length would seek it.
+        clearPlayback();
+        playback = new Playback(cube, sequence);
+        scrubber.setMax(sequence.length());
+        scrubber.setDisable(sequence.length() == 0);
+        showStep();
+    }
+
+    private void clearPlayback() {
+        playback = null;
+        scrubber.setValue(0);
+        scrubber.setMax(0);
+        scrubber.setDisable(true);
+    }
+
+    /**
+     * Shows the playback position in the labels and on the scrubber.
+     */
+    private void showStep() {
+        int move = playback.lastMove();
+        currentMoveLabel.setText("Current Move: " + (move < 0 ? "" : MoveSequence.moveName(move)));
+        stepCountLabel.setText("Step: " + playback.getStep() + "/" + playback.length());
+        scrubber.setValue(playback.getStep());
+    }
+
+    /**
+     * Jumps to a step picked on the scrubber, pausing playback first. Setting the scrubber to the current step,
+     * as {@link #showStep()} does, changes nothing.
+     */
+    private void seek(int step) {
+        if (playback == null || step == playback.getStep()) return;
+        if (playing) {
+            pauseAlgorithm();
+        }
+
+        playback.seek(cube, step);
+        render();
+        showStep();
+        playButton.setDisable(playback.isAtEnd());
+        stepForwardButton.setDisable(playback.isAtEnd());
+        stepBackwardButton.setDisable(playback.isAtStart());
+    }
+
+    private void showSimilarAlgorithms() {
+        if (currentAlgorithm == null) return;
+
+        boolean byEffect = SIMILAR_EFFECT.equals(similarityDropdown.getSelectionModel().getSelectedItem());
+        List<String> similar = getSimilarAlgorithms(currentAlgorithm.getName(), byEffect);
+        if (!similar.isEmpty()) {
+            String similarText = String.join(", ", similar);
+            similarAlgorithmsLabel.setText("Similar Algorithms: " + similarText);
+        } else {
+            similarAlgorithmsLabel.setText("Similar Algorithms: None");
+        }
+    }
+
+    private void playAlgorithm() {
+        if (playback == null) return;
+
+        playButton.setDisable(true);
+        pauseButton.setDisable(false);
+        stepForwardButton.setDisable(true);
+        stepBackwardButton.setDisable(true);
+
+        lastPulse = 0;
+        pendingMoves = 0;
+        playing = true;
+        player.start();
+    }
+
+    /**
+     * Plays the moves due since the last pulse at the chosen speed. When more than one is due, only the state they
+     * end in is rendered, and {@link Playback#seek} may skip to a checkpoint instead of applying every move.
+     */
+    private void advancePlayback(long now) {
+        if (lastPulse != 0) {
+            pendingMoves += (now - lastPulse) * movesPerSecond / 1e9;
+        }
+        lastPulse = now;
+
+        int moves = (int) Math.min(pendingMoves, playback.length() - playback.getStep());
+        if (moves == 0) return;
+        pendingMoves -= moves;
+        if (moves == 1) {
+            render(playback.stepForward(cube));
+        } else {
+            playback.seek(cube, playback.getStep() + moves);
+            render();
+        }
+        showStep();
+
+        if (playback.isAtEnd()) {
+            stopPlayback();
+            playButton.setDisable(true);
+            pauseButton.setDisable(true);
+            stepForwardButton.setDisable(true);
+            stepBackwardButton.setDisable(false);
+        }
+    }
+
+    private void stopPlayback() {
+        player.stop();
+        playing = false;
+    }
+
+    private static String speedName(int movesPerSecond) {
+        return movesPerSecond + " moves/s";
+    }
+
+    private void pauseAlgorithm() {
+        if (playing) {
+            stopPlayback();
+            playButton.setDisable(false);
+            pauseButton.setDisable(true);
+            stepForwardButton.setDisable(playback.isAtEnd());
+            stepBackwardButton.setDisable(playback.isAtStart());
+        }
+    }
+
+    private void stepForward() {
+        if (playback == null || playback.isAtEnd()) return;
+
+        render(playback.stepForward(cube));
+        showStep();
+
+        stepBackwardButton.setDisable(false);
+        if (playback.isAtEnd()) {
+            stepForwardButton.setDisable(true);
+        }
+    }
+
+    private void stepBackward() {
+        if (playback == null || playback.isAtStart()) return;
+
+        render(playback.stepBackward(cube));
+        showStep();
+
+        stepForwardButton.setDisable(false);
+        if (playback.isAtStart()) {
+            stepBackwardButton.setDisable(true);
+        }
+    }
+
+    /**
+     * Solves whatever state the cube is in on a background thread, then loads the solution so it can be played
+     * or stepped like any other algorithm. The other controls stay live, so a solution that arrives after the
+     * cube was changed or replaced is dropped rather than played on a position it does not solve.
+     */
+    private void solveCurrentState() {
+        if (!(cube instanceof Cube standard)) return;
+        stopPlayback();
+        CubieCube state = CubieCube.fromCube(standard);
+        long stateHash = standard.getStateHash();
+        solving = true;
+
+        solveButton.setDisable(true);
+        playButton.setDisable(true);
+        pauseButton.setDisable(true);
+        stepForwardButton.setDisable(true);
+        stepBackwardButton.setDisable(true);
+        algorithmSequenceLabel.setText("Algorithm: solving...");
+
+        CompletableFuture.supplyAsync(() -> solver.solve(state, TwoPhaseSolver.DEFAULT_MAX_LENGTH,
+                        TwoPhaseSolver.DEFAULT_TIME_BUDGET_MILLIS, true, null))
+                .whenComplete((solution, error) -> Platform.runLater(() -> {
+                    solving = false;
+                    solveButton.setDisable(!(cube instanceof Cube));
+                    if (cube != standard || standard.getStateHash() != stateHash) {
+                        return;
+                    }
+                    if (error != null || solution == null) {
+                        currentAlgorithm = null;
+                        clearPlayback();
+                        algorithmSequenceLabel.setText("Algorithm: no solution found");
+                        return;
+                    }
+
+                    currentAlgorithm = new Algorithm("Solution", solution);
+                    SolverStatistics statistics = solver.getLastStatistics();
+                    String counts = statistics.getMoveCount().equals(statistics.getRawMoveCount())
+                            ? statistics.getMoveCount().toString()
+                            : statistics.getRawMoveCount() + " simplified to " + statistics.getMoveCount();
+                    algorithmSequenceLabel.setText("Algorithm: " + solution + " (" + counts + ")");
+                    loadPlayback(solution);
+                    similarAlgorithmsLabel.setText("Similar Algorithms: ");
+
+                    boolean solved = solution.length() == 0;
+                    playButton.setDisable(solved);
+                    stepForwardButton.setDisable(solved);
+                }));
+    }
+
+    /**
+     * Looks up the last-layer case the cube is in and loads its algorithm, with the U adjustment it needs first.
+     */
+    private void recognizeLastLayer() {
+        if (!(cube instanceof Cube standard)) return;
+        stopPlayback();
+        LastLayerMatch match = LastLayerIndex.shared().recognize(standard);
+        if (match == null) {
+            algorithmSequenceLabel.setText("Algorithm: no matching last-layer case");
+            return;
+        }
+
+        MoveSequence sequence = match.getSequence();
+        currentAlgorithm = new Algorithm(match.getAlgorithm().getName(), sequence);
+        algorithmSequenceLabel.setText("Algorithm: " + sequence + " (" + match + ")");
+        loadPlayback(sequence);
+
+        boolean solved = sequence.length() == 0;
+        playButton.setDisable(solved);
+        pauseButton.setDisable(true);
+        stepForwardButton.setDisable(solved);
+        stepBackwardButton.setDisable(true);
+    }
+
+    /**
+     * finds similar algorithms using either ranking.
+     *
+     * @param algorithmName name of selected algorithm.
+     * @param byEffect      whether to rank by effect on the cube rather than by shared moves.
+     * @return a list of similar algorithm names
+     */
+    public List<String> getSimilarAlgorithms(String algorithmName, boolean byEffect) {
+        if (byEffect) {
+            return getAlgorithmsWithSimilarEffect(algorithmName);
+        }
+        return getAlgorithmsWithSharedMoves(algorithmName);
+    }
+
+    /**
+     * finds the algorithms whose effect on the cube is closest to the given algorithm's, closest first.
+     *
+     * @param algorithmName name of selected algorithm.
+     * @return a list of similar algorithm names
+     */
+    public List<String> getAlgorithmsWithSimilarEffect(String algorithmName) {
+        Algorithm currentAlgo = AlgorithmFactory.getAlgorithm(algorithmName);
+        if (currentAlgo == null) return List.of();
+
+        return EffectIndex.shared().nearest(currentAlgo, SIMILAR_EFFECT_COUNT).stream()
+                .map(Algorithm::getName)
+                .toList();
+    }
+
+    /**
+     * finds similar algorithms that share at least one move sequence with the given algorithm.
+     *
+     * @param algorithmName name of selected algorithm.
+     * @return a list of similar algorithm names
+     */
+    public List<String> getAlgorithmsWithSharedMoves(String algorithmName) {
+        Algorithm currentAlgo = AlgorithmFactory.getAlgorithm(algorithmName);
+        if (currentAlgo == null) return List.of();
+
+        Set<String> similarAlgorithms = new HashSet<>();
+
+        Move algoMove = moveGraph.getGraph().keySet().stream()
+                .filter(move -> move.getName().equals(algorithmName))
+                .findFirst()
+                .orElse(null);
+
+        if (algoMove != null) {
+            for (Move connectedMove : moveGraph.getNeighbors(algoMove)) {
+                if (!connectedMove.getName().equals(algorithmName)) {
+                    similarAlgorithms.add(connectedMove.getName());
+                }
+            }
+        }
+
+        return new ArrayList<>(similarAlgorithms);
+    }
+}
@@ -0,0 +1,9 @@
+module com.rubikssolver.rubikscubevisualizer.ui {
+    requires javafx.controls;
+    requires javafx.fxml;
+    requires com.rubikssolver.rubikscubevisualizer;
+
+
+    opens com.rubikssolver.rubikscubevisualizer.ui to javafx.fxml;
+    exports com.rubikssolver.rubikscubevisualizer.ui;
+}